@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Runs the same k6 load against the app in platform-thread and virtual-thread mode
+# with added database latency, then prints throughput and latency side by side.
+#
+#   LATENCY_MS=50 RATE=400 DURATION=60s ./run.sh
+set -euo pipefail
+cd "$(dirname "$0")"
+
+LATENCY_MS=${LATENCY_MS:-50}
+RATE=${RATE:-400}
+DURATION=${DURATION:-60s}
+mkdir -p results
+
+wait_for_app() {
+    for _ in $(seq 1 60); do
+        curl -fs http://localhost:8080/actuator/health > /dev/null && return 0
+        sleep 2
+    done
+    echo "app did not become healthy" >&2
+    exit 1
+}
+
+set_latency() {
+    curl -fs -X DELETE http://localhost:8474/proxies/postgres/toxics/latency > /dev/null || true
+    curl -fs -X POST http://localhost:8474/proxies/postgres/toxics -H 'Content-Type: application/json' \
+        -d "{\"name\":\"latency\",\"type\":\"latency\",\"stream\":\"downstream\",\"attributes\":{\"latency\":$1,\"jitter\":$(( $1 / 5 ))}}" > /dev/null
+}
+
+docker compose up -d --build postgres toxiproxy
+
+for mode in platform virtual; do
+    profiles=dev
+    [ "$mode" = virtual ] && profiles=dev,virtual
+
+    APP_PROFILES=$profiles docker compose up -d --force-recreate app
+    set_latency 0
+    wait_for_app
+    if [ ! -f results/.seeded ]; then
+        docker compose exec -T postgres psql -q -U blog -d blog < seed.sql
+        touch results/.seeded
+    fi
+
+    set_latency "$LATENCY_MS"
+    k6 run --quiet -e BASE_URL=http://localhost:8080 -e RATE="$RATE" -e DURATION="$DURATION" \
+        --summary-export "results/$mode.json" feed.js
+done
+
+docker compose down -v
+rm -f results/.seeded
+
+printf '\n%-10s %-12s %10s %10s %10s %10s\n' mode endpoint "req/s" "p50 ms" "p95 ms" "p99 ms"
+for mode in platform virtual; do
+    for name in all feed post categories; do
+        metric=http_req_duration
+        [ "$name" != all ] && metric="http_req_duration{name:$name}"
+        jq -r --arg mode "$mode" --arg name "$name" --arg metric "$metric" '[$mode, $name,
+            (if $name == "all" then (.metrics.http_reqs.rate | floor | tostring) else "" end),
+            (.metrics[$metric]["p(50)"] | floor),
+            (.metrics[$metric]["p(95)"] | floor),
+            (.metrics[$metric]["p(99)"] | floor)] | @tsv' "results/$mode.json" \
+            | awk -F'\t' '{ printf "%-10s %-12s %10s %10s %10s %10s\n", $1, $2, $3, $4, $5, $6 }'
+    done
+    jq -r --arg mode "$mode" '"\($mode): \((.metrics.http_req_failed.value // 0) * 100)% failed, \(.metrics.dropped_iterations.count // 0) dropped iterations"' \
+        "results/$mode.json"
+done
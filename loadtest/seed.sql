@@ -0,0 +1,18 @@
+-- Run after the app has started once, so Hibernate has created the schema.
+INSERT INTO users (username, password, email, firstname, lastname, role, is_active, created_at, updated_at)
+SELECT 'loadtest' || g, 'x', 'loadtest' || g || '@example.com', 'Load', 'Test', 'USER', true, now(), now()
+FROM generate_series(1, 50) g
+ON CONFLICT DO NOTHING;
+
+INSERT INTO categories (name, description, created_at)
+SELECT 'category-' || g, 'Load test category', now()
+FROM generate_series(1, 10) g;
+
+INSERT INTO posts (title, content, status, views, likes_count, comments_count, created_at, updated_at, user_id, category_id)
+SELECT 'Load test post ' || g,
+       repeat('Lorem ipsum dolor sit amet, consectetur adipiscing elit. ', 40),
+       'PUBLISHED', 0, 0, 0,
+       now() - (g || ' minutes')::interval, now(),
+       (SELECT min(id) FROM users) + (g % 50),
+       (SELECT min(id) FROM categories) + (g % 10)
+FROM generate_series(1, 5000) g;
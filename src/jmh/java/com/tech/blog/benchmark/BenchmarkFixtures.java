@@ -0,0 +1,104 @@
+package com.tech.blog.benchmark;
+
+import com.tech.blog.model.entity.*;
+import com.tech.blog.model.enums.PostStatus;
+import com.tech.blog.model.enums.Role;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like what the services hand to the mappers.
+ */
+final class BenchmarkFixtures {
+
+    private static final String PARAGRAPH = "Spring Boot makes it easy to create stand-alone, production-grade "
+            + "applications that you can just run. Most applications need very little configuration. ";
+
+    private BenchmarkFixtures() {
+    }
+
+    static String content(int paragraphs) {
+        return PARAGRAPH.repeat(paragraphs);
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setFirstname("First" + id);
+        user.setLastname("Last" + id);
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setProfilePictureUrl("https://res.cloudinary.com/demo/image/upload/user" + id + ".jpg");
+        user.setPosts(new ArrayList<>());
+        user.setComments(new ArrayList<>());
+        user.setLikes(new ArrayList<>());
+        return user;
+    }
+
+    static Category category(long id) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName("category-" + id);
+        category.setDescription("Posts about topic " + id);
+        category.setCreatedAt(LocalDateTime.now());
+        return category;
+    }
+
+    static List<Tag> tags(int count) {
+        List<Tag> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i);
+            tag.setName("tag-" + i);
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    /**
+     * A published post with the given number of tags and comments, each comment by its own author.
+     */
+    static Post post(long id, int paragraphs, int tagCount, int commentCount) {
+        Post post = Post.builder()
+                .id(id)
+                .title("Benchmark post " + id)
+                .content(content(paragraphs))
+                .coverImageUrl("https://res.cloudinary.com/demo/image/upload/post" + id + ".jpg")
+                .status(PostStatus.PUBLISHED)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .views(1234)
+                .likesCount(56)
+                .commentsCount(commentCount)
+                .user(user(id))
+                .category(category(id % 10))
+                .tags(tags(tagCount))
+                .comments(new ArrayList<>())
+                .likes(new ArrayList<>())
+                .build();
+
+        for (int i = 0; i < commentCount; i++) {
+            Comment comment = new Comment();
+            comment.setId((long) i);
+            comment.setContent("Comment " + i + " on post " + id + ". " + PARAGRAPH);
+            comment.setCreateAt(LocalDateTime.now());
+            comment.setUser(user(1000L + i));
+            comment.setPost(post);
+            post.getComments().add(comment);
+        }
+        return post;
+    }
+
+    static List<Post> posts(int count, int paragraphs, int tagCount) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(post(i, paragraphs, tagCount, 0));
+        }
+        return posts;
+    }
+}
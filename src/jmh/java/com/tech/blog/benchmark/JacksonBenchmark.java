@@ -0,0 +1,65 @@
+package com.tech.blog.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tech.blog.mapper.PostMapper;
+import com.tech.blog.model.dto.response.PageResponse;
+import com.tech.blog.model.dto.response.PostPreviewDto;
+import com.tech.blog.model.dto.response.PostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the hot read responses with an ObjectMapper configured the way
+ * Spring Boot configures the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<PostPreviewDto> feedPage;
+    private PostResponse post;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext("com.tech.blog.mapper")) {
+            PostMapper postMapper = context.getBean(PostMapper.class);
+            List<PostPreviewDto> previews = BenchmarkFixtures.posts(pageSize, 40, 5).stream()
+                    .map(postMapper::toPreviewDto)
+                    .toList();
+            feedPage = PageResponse.<PostPreviewDto>builder()
+                    .content(previews)
+                    .pageNo(0)
+                    .pageSize(pageSize)
+                    .totalElements(5000)
+                    .totalPages(5000 / pageSize)
+                    .last(false)
+                    .build();
+            post = postMapper.toResponse(BenchmarkFixtures.post(1L, 40, 5, 50));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeFeedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(feedPage);
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(post);
+    }
+}
@@ -0,0 +1,81 @@
+package com.tech.blog.benchmark;
+
+import com.tech.blog.model.entity.User;
+import com.tech.blog.model.enums.Role;
+import com.tech.blog.util.JwtUtils;
+import com.tech.blog.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens validated per second on the HS256 setup used by the application.
+ * {@code perCallParser} reproduces the previous JwtUtils, which built a parser for
+ * every claim lookup and read the subject and the expiration with separate parses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private SecretKey key;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        String secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtUtils.init();
+
+        user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setRole(Role.USER);
+        token = jwtUtils.generateToken(user, Role.USER);
+    }
+
+    @Benchmark
+    public boolean perCallParser() {
+        String username = extractAllClaims(token).getSubject();
+        Date expiration = extractAllClaims(token).getExpiration();
+        return username.equals("benchmark") && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public boolean sharedParser() {
+        VerifiedToken verified = jwtUtils.verify(token);
+        return verified.username().equals("benchmark") && verified.expiration().after(new Date());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user, Role.USER);
+    }
+
+    private Claims extractAllClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
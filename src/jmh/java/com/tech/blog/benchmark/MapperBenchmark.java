@@ -0,0 +1,98 @@
+package com.tech.blog.benchmark;
+
+import com.tech.blog.mapper.PostMapper;
+import com.tech.blog.model.dto.response.PostPreviewDto;
+import com.tech.blog.model.dto.response.PostResponse;
+import com.tech.blog.model.entity.Post;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request mapping cost: a single post preview, a feed page of previews, and a
+ * post with a long comment thread. Each fixture lives in its own state so a
+ * benchmark only runs over the parameters it actually uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Mappers {
+        private AnnotationConfigApplicationContext context;
+        private PostMapper postMapper;
+
+        @Setup
+        public void setUp() {
+            // The generated mappers wire their "uses" dependencies through Spring.
+            context = new AnnotationConfigApplicationContext("com.tech.blog.mapper");
+            postMapper = context.getBean(PostMapper.class);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SinglePost {
+        private Post post;
+
+        @Setup
+        public void setUp() {
+            post = BenchmarkFixtures.post(1L, 40, 5, 0);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FeedPage {
+        @Param({"20", "100"})
+        public int pageSize;
+
+        private List<Post> page;
+
+        @Setup
+        public void setUp() {
+            page = BenchmarkFixtures.posts(pageSize, 40, 5);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CommentThread {
+        @Param({"10", "1000"})
+        public int commentCount;
+
+        private Post post;
+
+        @Setup
+        public void setUp() {
+            post = BenchmarkFixtures.post(2L, 40, 5, commentCount);
+        }
+    }
+
+    @Benchmark
+    public PostPreviewDto toPreviewDto(Mappers mappers, SinglePost single) {
+        return mappers.postMapper.toPreviewDto(single.post);
+    }
+
+    @Benchmark
+    public List<PostPreviewDto> toPreviewDtoPage(Mappers mappers, FeedPage feed) {
+        return feed.page.stream().map(mappers.postMapper::toPreviewDto).toList();
+    }
+
+    @Benchmark
+    public String generateExcerpt(Mappers mappers, SinglePost single) {
+        return mappers.postMapper.generateExcerpt(single.post.getContent());
+    }
+
+    @Benchmark
+    public PostResponse toResponseWithComments(Mappers mappers, CommentThread thread) {
+        return mappers.postMapper.toResponse(thread.post);
+    }
+}
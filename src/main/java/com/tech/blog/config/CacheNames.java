@@ -0,0 +1,12 @@
+package com.tech.blog.config;
+
+public final class CacheNames {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY = "category";
+    public static final String TAGS = "tags";
+    public static final String TAG = "tag";
+
+    private CacheNames() {
+    }
+}
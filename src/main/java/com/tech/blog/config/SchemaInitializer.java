@@ -0,0 +1,52 @@
+package com.tech.blog.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Applies the idempotent DDL under {@code db/} once Hibernate has created or validated
+ * the tables. Production runs with {@code ddl-auto: none}, so every table, column and
+ * index added on top of the original schema must be created by one of these scripts,
+ * and every statement must be safe to run on each startup. Scripts run in list order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class SchemaInitializer {
+
+    private static final List<String> SCRIPTS = List.of(
+            "db/posts-schema.sql",
+            "db/search-schema.sql",
+            "db/comments-schema.sql",
+            "db/likes-schema.sql",
+            "db/user-directory-schema.sql",
+            "db/user-stats-schema.sql",
+            "db/image-deletions-schema.sql");
+
+    private final DataSource dataSource;
+
+    @Value("${app.schema.init:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Schema scripts are disabled");
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        SCRIPTS.forEach(script -> populator.addScript(new ClassPathResource(script)));
+        populator.execute(dataSource);
+        log.info("Schema scripts are up to date: {}", SCRIPTS);
+    }
+}
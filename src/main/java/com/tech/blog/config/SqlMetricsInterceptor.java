@@ -0,0 +1,84 @@
+package com.tech.blog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link SqlStatementCounter} tally around each controller invocation and
+ * records it under the controller method's name. Requests that run more statements
+ * than the budget are logged, which is usually the first sign of an N+1.
+ */
+@Slf4j
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final int queryBudget;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry, int queryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStatementCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The rest of the work happens on another thread; drop the tally rather than leak it.
+        SqlStatementCounter.finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementCounter.Tally tally = SqlStatementCounter.finish();
+        if (tally == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+
+        DistributionSummary.builder("blog.sql.request.statements")
+                .tag("handler", name)
+                .description("SQL statements executed per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(tally.statements());
+        DistributionSummary.builder("blog.sql.request.rows")
+                .tag("handler", name)
+                .description("Rows read or written per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(tally.rows());
+        Timer.builder("blog.sql.request.jdbc.time")
+                .tag("handler", name)
+                .description("Time spent in JDBC calls per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(tally.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (tally.statements() > queryBudget) {
+            Counter.builder("blog.sql.request.over_budget")
+                    .tag("handler", name)
+                    .description("Requests that exceeded the SQL statement budget")
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} ({}) ran {} SQL statements, budget is {}; {} rows, {} ms in JDBC",
+                    request.getMethod(), request.getRequestURI(), name, tally.statements(), queryBudget,
+                    tally.rows(), Duration.ofNanos(tally.jdbcNanos()).toMillis());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.tech.blog.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tallies the JDBC work done on the current thread between {@link #start()} and
+ * {@link #finish()}. Attached to the proxied DataSource; statements issued while no
+ * tally is open, such as scheduled jobs, are not counted.
+ */
+public class SqlStatementCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    public static final class Tally {
+        private int statements;
+        private long rows;
+        private long jdbcNanos;
+
+        public int statements() {
+            return statements;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        public long jdbcNanos() {
+            return jdbcNanos;
+        }
+    }
+
+    public static void start() {
+        CURRENT.set(new Tally());
+    }
+
+    /**
+     * Closes the current tally and returns it, or null if none was open.
+     */
+    public static Tally finish() {
+        Tally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tally tally = CURRENT.get();
+        if (tally == null) {
+            return;
+        }
+        // A JDBC batch is one round trip, so it counts as one statement.
+        tally.statements++;
+        tally.jdbcNanos += TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        if (execInfo.getResult() instanceof Integer updated) {
+            tally.rows += updated;
+        } else if (execInfo.getResult() instanceof int[] updated) {
+            for (int count : updated) {
+                tally.rows += Math.max(count, 0);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    /**
+     * Counts rows read, one per successful {@link ResultSet#next()}.
+     */
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Tally tally = CURRENT.get();
+        if (tally != null
+                && executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            tally.rows++;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.tech.blog.controller;
 import com.tech.blog.model.dto.request.CommentCreateRequest;
 import com.tech.blog.model.dto.request.CommentUpdateRequest;
 import com.tech.blog.model.dto.response.CommentResponse;
+import com.tech.blog.model.dto.response.CursorPageResponse;
 import com.tech.blog.service.interfaces.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,8 +17,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Slf4j
 @Validated
 @RestController
@@ -65,14 +64,23 @@ public class CommentController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get all comments for a post")
+    @Operation(summary = "Get comments for a post",
+            description = "Keyset-paginated comments of a post, oldest first. Pass the returned nextCursor " +
+                    "to fetch the following page.")
+    @ApiResponse(responseCode = "200", description = "Comments retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    @ApiResponse(responseCode = "404", description = "Post not found")
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsByPostId(
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentsByPostId(
             @Parameter(description = "ID of the post to fetch comments for")
-            @PathVariable Long postId) {
+            @PathVariable Long postId,
+            @Parameter(description = "Opaque cursor returned by the previous page; omit for the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of comments per page", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size) {
         log.debug("Fetching comments for post with id {}", postId);
 
-        List<CommentResponse> responses = commentService.getCommentsByPostId(postId);
+        CursorPageResponse<CommentResponse> responses = commentService.getCommentsByPostId(postId, cursor, size);
         return ResponseEntity.ok(responses);
     }
 
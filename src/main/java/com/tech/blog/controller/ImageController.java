@@ -1,7 +1,10 @@
 package com.tech.blog.controller;
 
+import com.tech.blog.exception.ResourceNotFoundException;
 import com.tech.blog.model.dto.response.PostResponse;
+import com.tech.blog.model.dto.response.UploadJobResponse;
 import com.tech.blog.service.impl.ImageService;
+import com.tech.blog.service.impl.ImageUploadPipeline;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,10 +29,12 @@ import java.util.Optional;
 public class ImageController {
 
     private final ImageService imageService;
+    private final ImageUploadPipeline imageUploadPipeline;
 
     @Autowired
-    public ImageController(ImageService imageService) {
+    public ImageController(ImageService imageService, ImageUploadPipeline imageUploadPipeline) {
         this.imageService = imageService;
+        this.imageUploadPipeline = imageUploadPipeline;
     }
 
     @Operation(
@@ -106,7 +111,7 @@ public class ImageController {
     @DeleteMapping("/delete")
     public ResponseEntity<Void> deleteImage(
             @Parameter(
-                    description = "Cloudinary public ID of the image",
+                    description = "Public ID of the image in the configured store",
                     example = "sample_public_id"
             )
             @RequestParam("public_id") String publicId) {
@@ -118,4 +123,27 @@ public class ImageController {
                     "Failed to delete image: " + e.getMessage());
         }
     }
+
+    @Operation(
+            summary = "Get upload job",
+            description = "Poll the state of a queued image upload"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Current state of the upload",
+                    content = @Content(schema = @Schema(implementation = UploadJobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown or expired job"
+            )
+    })
+    @GetMapping("/jobs/{jobId}")
+    public UploadJobResponse getUploadJob(
+            @Parameter(description = "ID returned when the upload was accepted")
+            @PathVariable("jobId") String jobId) {
+        return imageUploadPipeline.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload job", "id", jobId));
+    }
 }
\ No newline at end of file
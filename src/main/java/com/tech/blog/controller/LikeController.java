@@ -12,6 +12,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @Tag(name = "Like Management", description = "Endpoints for managing post likes")
 @RestController
 @RequestMapping("/api/v1/likes")
@@ -32,6 +35,7 @@ public class LikeController {
 
     @Operation(summary = "Get like status and count for a post")
     @ApiResponse(responseCode = "200", description = "Like information retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Post not found")
     @GetMapping("/posts/{postId}")
     public ResponseEntity<LikeResponse> getLikeInfo(
             @Parameter(description = "Post ID") @PathVariable("postId") Long postId,
@@ -40,4 +44,19 @@ public class LikeController {
         LikeResponse response = likeService.getLikeInfo(userDetails.getUserId(), postId);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "Get like status and count for a batch of posts",
+            description = "Returns like information keyed by post ID for up to 100 posts in a single request")
+    @ApiResponse(responseCode = "200", description = "Like information retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Too many post IDs requested")
+    @ApiResponse(responseCode = "404", description = "One or more posts not found")
+    @GetMapping("/posts")
+    public ResponseEntity<Map<Long, LikeResponse>> getLikeInfoBatch(
+            @Parameter(description = "Comma-separated post IDs", example = "1,2,3")
+            @RequestParam("ids") List<Long> postIds,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        Long userId = userDetails != null ? userDetails.getUserId() : null;
+        return ResponseEntity.ok(likeService.getLikeInfoBatch(userId, postIds));
+    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.tech.blog.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tech.blog.exception.ResourceNotFoundException;
 import com.tech.blog.model.dto.request.*;
 import com.tech.blog.model.dto.response.*;
-import com.tech.blog.service.impl.ImageService;
+import com.tech.blog.service.impl.ImageUploadPipeline;
+import com.tech.blog.service.impl.ResponseBodyCache;
 import com.tech.blog.service.interfaces.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,14 +18,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.net.URI;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/v1/posts")
@@ -31,8 +38,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final int EXPORT_PAGE_SIZE = 100;
+
     private final PostService postService;
-    private final ImageService imageService;
+    private final ImageUploadPipeline imageUploadPipeline;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.response-cache.feed-pages:3}")
+    private int cachedFeedPages;
 
     @Operation(
             summary = "Create a New Blog Post",
@@ -146,16 +160,30 @@ public class PostController {
             summary = "Get post by ID",
             description = "Retrieve a single post with full details and increment view count",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Post found"),
+                    @ApiResponse(responseCode = "200", description = "Post found",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = PostResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Post unchanged since the ETag sent in If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Post not found",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
     )
     @GetMapping("/{id}")
-    public PostResponse getPostById(
+    public ResponseEntity<byte[]> getPostById(
             @Parameter(description = "ID of the post to retrieve", example = "1")
-            @PathVariable("id") Long id) {
-        return postService.getPostById(id);
+            @PathVariable("id") Long id,
+            WebRequest webRequest) {
+
+        String etag = postService.getPostETag(id);
+        // Counted up front because most reads never reach getPostById: they end in a 304 or a cache hit.
+        postService.recordView(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseBodyCache.CachedResponse cached = responseBodyCache.getPost(id, etag,
+                () -> postService.getPostById(id));
+        return cachedJson(cached, webRequest);
     }
 
     @Operation(
@@ -164,12 +192,13 @@ public class PostController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Published posts retrieved successfully",
                             content = @Content(schema = @Schema(implementation = PageResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag sent in If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Invalid input",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
     )
     @GetMapping("/published")
-    public PageResponse<PostPreviewDto> findAllPublishedPosts(
+    public ResponseEntity<?> findAllPublishedPosts(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(name = "page", defaultValue = "0") int page,
 
@@ -179,9 +208,48 @@ public class PostController {
             @Parameter(description = "Sort field",
                     schema = @Schema(allowableValues = {"createdAt", "title", "views"}),
                     example = "createdAt")
+            @RequestParam(name = "sortBy", defaultValue = "createdAt") String sortBy,
+            WebRequest webRequest) {
+
+        String etag = postService.getPublishedPostsETag(page, size, sortBy);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (page >= cachedFeedPages) {
+            return ResponseEntity.ok(postService.getPublishedPosts(page, size, sortBy));
+        }
+
+        ResponseBodyCache.CachedResponse cached = responseBodyCache.getFeed(
+                "published:" + page + ":" + size + ":" + sortBy, etag,
+                () -> postService.getPublishedPosts(page, size, sortBy));
+        return cachedJson(cached, webRequest);
+    }
+
+    @Operation(
+            summary = "Get published posts by cursor",
+            description = "Keyset-paginated feed of published posts. Pass the returned nextCursor to fetch the following page; " +
+                    "no total count is computed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Published posts retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    @GetMapping("/published/cursor")
+    public CursorPageResponse<PostPreviewDto> findPublishedPostsByCursor(
+            @Parameter(description = "Opaque cursor returned by the previous page; omit for the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size,
+
+            @Parameter(description = "Sort field",
+                    schema = @Schema(allowableValues = {"createdAt", "views"}),
+                    example = "createdAt")
             @RequestParam(name = "sortBy", defaultValue = "createdAt") String sortBy) {
 
-        return postService.getPublishedPosts(page, size, sortBy);
+        return postService.getPublishedPostsByCursor(cursor, size, sortBy);
     }
 
     @Operation(
@@ -248,29 +316,27 @@ public class PostController {
 
     @Operation(
             summary = "Upload post image",
-            description = "Upload a cover image for a post",
+            description = "Queue a cover image upload for a post. Resized copies are generated for feed cards " +
+                    "and exposed as coverImageVariants. The upload runs in the background; " +
+                    "poll the returned job at /api/v1/images/jobs/{jobId} to find out when the post is updated.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Image uploaded successfully",
-                            content = @Content(schema = @Schema(implementation = PostResponse.class)),
+                    @ApiResponse(responseCode = "202", description = "Upload accepted",
+                            content = @Content(schema = @Schema(implementation = UploadJobResponse.class)),
                             headers = {@io.swagger.v3.oas.annotations.headers.Header(
                                     name = "Location",
-                                    description = "URL of the uploaded image",
+                                    description = "URL of the upload job",
                                     schema = @Schema(type = "string")
                             )}
                     ),
                     @ApiResponse(responseCode = "400", description = "Invalid input",
-                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)),
-                            headers = {@io.swagger.v3.oas.annotations.headers.Header(
-                                    name = "Location",
-                                    description = "URL of the uploaded image",
-                                    schema = @Schema(type = "string")
-                            )}
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
                     ),
-                    @ApiResponse(responseCode = "500", description = "Internal server error")
+                    @ApiResponse(responseCode = "404", description = "Post not found"),
+                    @ApiResponse(responseCode = "503", description = "Upload queue is full, retry later")
             }
     )
     @PostMapping(value = "/{id}/upload-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public PostResponse uploadImage(
+    public ResponseEntity<UploadJobResponse> uploadImage(
             @Parameter(description = "ID of the post to update", example = "1")
             @PathVariable("id") Long id,
 
@@ -282,20 +348,15 @@ public class PostController {
 
         validateFile(file);
 
-        try {
-            String imageUrl = imageService.uploadImage(file)
-                    .orElseThrow(() -> new ResponseStatusException(
-                            HttpStatus.INTERNAL_SERVER_ERROR,
-                            "Image upload failed"
-                    ));
-            return postService.updatePostImage(id, imageUrl);
-        } catch (Exception e) {
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to process image: " + e.getMessage(),
-                    e
-            );
+        if (!postService.existsById(id)) {
+            throw new ResourceNotFoundException("Post", "id", id);
         }
+
+        UploadJobResponse job = imageUploadPipeline.submitWithVariants(file,
+                image -> postService.updatePostImage(id, image.url(), image.variants()));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/images/jobs/" + job.getJobId()))
+                .body(job);
     }
 
     private void validateFile(MultipartFile file) {
@@ -319,19 +380,39 @@ public class PostController {
     @GetMapping("/category/{categoryId}")
     @Operation(
             summary = "Get posts by category",
-            description = "Retrieve a list of posts that belong to a specific category by its ID."
+            description = "Retrieve a cursor-paginated list of published post previews that belong to a specific category, " +
+                    "newest first. Add format=ndjson to stream every matching post as newline-delimited JSON."
     )
-    public ResponseEntity<List<PostPreviewDto>> getPostsByCategory(
+    public CursorPageResponse<PostPreviewDto> getPostsByCategory(
             @Parameter(description = "ID of the category to retrieve posts from", example = "1")
+            @PathVariable("categoryId") Long categoryId,
+
+            @Parameter(description = "Opaque cursor returned by the previous page; omit for the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            WebRequest webRequest) {
+
+        if (webRequest.checkNotModified(postService.getPostsByCategoryETag(categoryId, cursor, size))) {
+            return null;
+        }
+        return postService.getPostsByCategory(categoryId, cursor, size);
+    }
+
+    @GetMapping(value = "/category/{categoryId}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export posts by category as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportPostsByCategory(
+            @Parameter(description = "ID of the category to export posts from", example = "1")
             @PathVariable("categoryId") Long categoryId) {
 
-        List<PostPreviewDto> posts = postService.getPostsByCategory(categoryId);
-        return ResponseEntity.ok(posts);
+        return streamNdjson(cursor -> postService.getPostsByCategory(categoryId, cursor, EXPORT_PAGE_SIZE));
     }
 
     @Operation(
             summary = "Find posts by tag",
-            description = "Retrieves all published posts that have been tagged with the specified tag name"
+            description = "Retrieves a cursor-paginated list of published post previews tagged with the specified tag name, " +
+                    "newest first. Add format=ndjson to stream every matching post as newline-delimited JSON."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -339,36 +420,50 @@ public class PostController {
                     description = "Successfully retrieved posts",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = PostResponse.class)
+                            schema = @Schema(implementation = CursorPageResponse.class)
                     )
             ),
-            @ApiResponse(
-                    responseCode = "404",
-                    description = "Tag not found",
-                    content = @Content
-            ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid tag name supplied",
+                    description = "Invalid cursor or page size",
                     content = @Content
             )
     })
     @GetMapping("/by-tag/{tagName}")
-    public ResponseEntity<List<PostPreviewDto>> findPostsByTag(
+    public CursorPageResponse<PostPreviewDto> findPostsByTag(
             @Parameter(
                     description = "Name of the tag to filter posts by",
                     required = true,
                     example = "spring-boot"
             )
-            @PathVariable("tagName") String tagName
+            @PathVariable("tagName") String tagName,
+
+            @Parameter(description = "Opaque cursor returned by the previous page; omit for the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            WebRequest webRequest
     ) {
-        List<PostPreviewDto> posts = postService.getPostsByTag(tagName);
-        return ResponseEntity.ok(posts);
+        if (webRequest.checkNotModified(postService.getPostsByTagETag(tagName, cursor, size))) {
+            return null;
+        }
+        return postService.getPostsByTag(tagName, cursor, size);
+    }
+
+    @GetMapping(value = "/by-tag/{tagName}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export posts by tag as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportPostsByTag(
+            @Parameter(description = "Name of the tag to export posts for", example = "spring-boot")
+            @PathVariable("tagName") String tagName) {
+
+        return streamNdjson(cursor -> postService.getPostsByTag(tagName, cursor, EXPORT_PAGE_SIZE));
     }
 
     @Operation(
             summary = "Find posts by tag ID",
-            description = "Retrieves all published posts that have been tagged with the specified tag ID"
+            description = "Retrieves a cursor-paginated list of published post previews tagged with the specified tag ID, " +
+                    "newest first. Add format=ndjson to stream every matching post as newline-delimited JSON."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -376,47 +471,116 @@ public class PostController {
                     description = "Successfully retrieved posts",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = PostResponse.class)
+                            schema = @Schema(implementation = CursorPageResponse.class)
                     )
             ),
-            @ApiResponse(
-                    responseCode = "404",
-                    description = "Tag not found",
-                    content = @Content
-            ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid tag ID supplied",
+                    description = "Invalid cursor or page size",
                     content = @Content
             )
     })
-    @GetMapping("/by-tag/{id}")
-    public ResponseEntity<List<PostPreviewDto>> findPostsByTag(
+    @GetMapping("/by-tag-id/{id}")
+    public CursorPageResponse<PostPreviewDto> findPostsByTagId(
             @Parameter(
                     description = "ID of the tag to filter posts by",
                     required = true,
                     example = "1"
             )
-            @PathVariable("id") Long id
+            @PathVariable("id") Long id,
+
+            @Parameter(description = "Opaque cursor returned by the previous page; omit for the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            WebRequest webRequest
     ) {
-        List<PostPreviewDto> posts = postService.getPostsByTagId(id);
-        return ResponseEntity.ok(posts);
+        if (webRequest.checkNotModified(postService.getPostsByTagIdETag(id, cursor, size))) {
+            return null;
+        }
+        return postService.getPostsByTagId(id, cursor, size);
+    }
+
+    @GetMapping(value = "/by-tag-id/{id}", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export posts by tag ID as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportPostsByTagId(
+            @Parameter(description = "ID of the tag to export posts for", example = "1")
+            @PathVariable("id") Long id) {
+
+        return streamNdjson(cursor -> postService.getPostsByTagId(id, cursor, EXPORT_PAGE_SIZE));
+    }
+
+    /**
+     * Writes a pre-serialized body, compressed when the client accepts gzip. The
+     * Content-Encoding header keeps the servlet container from compressing it again.
+     */
+    private ResponseEntity<byte[]> cachedJson(ResponseBodyCache.CachedResponse cached, WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = cached.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        responseBodyCache.recordServed(cached, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cached.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+        }
+        return response.body(cached.json());
+    }
+
+    /**
+     * Streams every page produced by the loader as one JSON document per line,
+     * flushing after each page so memory stays bounded by the page size.
+     */
+    private ResponseEntity<StreamingResponseBody> streamNdjson(
+            Function<String, CursorPageResponse<PostPreviewDto>> pageLoader) {
+        StreamingResponseBody body = out -> {
+            String cursor = null;
+            do {
+                CursorPageResponse<PostPreviewDto> page = pageLoader.apply(cursor);
+                for (PostPreviewDto post : page.getContent()) {
+                    out.write(objectMapper.writeValueAsBytes(post));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.isLast() ? null : page.getNextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/search")
     @Operation(
-            summary = "Search posts by keyword",
-            description = "Returns a list of post previews matching the given keyword in their title"
+            summary = "Search posts",
+            description = "Full-text search over the title and content of published posts. " +
+                    "Results are ranked by relevance and include a highlighted content fragment. " +
+                    "Supports quoted phrases, OR and -exclusions.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Search results retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = PageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Empty query or invalid page size",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
     )
-    public List<PostPreviewDto> searchPosts(
+    public PageResponse<PostSearchResult> searchPosts(
             @Parameter(
-                    description = "Keyword to search in post titles",
+                    description = "Search query",
                     required = true,
-                    example = "news"
+                    example = "spring security"
             )
-            @RequestParam(name = "keyword") String keyword
+            @RequestParam(name = "keyword") String keyword,
+
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(name = "page", defaultValue = "0") int page,
+
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size
     ) {
-        return postService.searchPosts(keyword);
+        return postService.searchPosts(keyword, page, size);
     }
 
 }
\ No newline at end of file
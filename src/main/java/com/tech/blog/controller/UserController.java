@@ -1,6 +1,11 @@
 package com.tech.blog.controller;
 
 import com.tech.blog.model.dto.request.UserUpdateRequest;
+import com.tech.blog.model.dto.response.ErrorResponse;
+import com.tech.blog.model.dto.response.PageResponse;
+import com.tech.blog.model.dto.response.UploadJobResponse;
+import com.tech.blog.model.dto.response.UserDetailResponse;
+import com.tech.blog.model.dto.response.UserDirectoryResponse;
 import com.tech.blog.model.dto.response.UserResponse;
 
 import com.tech.blog.service.interfaces.UserService;
@@ -12,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -20,9 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -49,10 +53,23 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Operation(summary = "Get User Profile", description = "Retrieves a user's profile with post, comment and like " +
+            "counts and their most recent published posts and comments.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User profile successfully retrieved"),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{userId}/profile")
+    public ResponseEntity<UserDetailResponse> getProfile(@PathVariable Long userId) {
+        return ResponseEntity.ok(userService.getUserProfile(userId));
+    }
+
     @PatchMapping("/{userId}/profile-picture")
     @Operation(
             summary = "Update profile picture",
-            description = "Upload a new profile picture for the user.",
+            description = "Queue a new profile picture upload for the user. Poll the returned job at " +
+                    "/api/v1/images/jobs/{jobId} to find out when the picture is in place.",
             requestBody = @RequestBody(
                     content = @Content(
                             mediaType = "multipart/form-data",
@@ -60,27 +77,55 @@ public class UserController {
                     )
             ),
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Profile picture updated successfully"),
+                    @ApiResponse(responseCode = "202", description = "Profile picture upload accepted"),
                     @ApiResponse(responseCode = "400", description = "Invalid file format"),
-                    @ApiResponse(responseCode = "404", description = "User not found")
+                    @ApiResponse(responseCode = "404", description = "User not found"),
+                    @ApiResponse(responseCode = "503", description = "Upload queue is full, retry later")
             }
     )
-    public ResponseEntity<UserResponse> updateProfilePicture(
+    public ResponseEntity<UploadJobResponse> updateProfilePicture(
             @PathVariable Long userId,
-            @RequestParam("file") MultipartFile file) throws IOException {
+            @RequestParam("file") MultipartFile file) {
 
-        UserResponse updatedUser = userService.updateProfilePicture(userId, file);
-        return ResponseEntity.ok(updatedUser);
+        UploadJobResponse job = userService.updateProfilePicture(userId, file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/images/jobs/" + job.getJobId()))
+                .body(job);
     }
 
 
-    @Operation(summary = "Get All Users", description = "Retrieves all users from the system.")
+    @Operation(summary = "Get Users", description = "Retrieves a page of users with their post, comment and like " +
+            "counts, optionally filtered by username or email prefix.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of all users successfully retrieved"),
+            @ApiResponse(responseCode = "200", description = "Users successfully retrieved",
+                    content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page size, sort field or direction",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Server error")
     })
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<PageResponse<UserDirectoryResponse>> getUsers(
+            @Parameter(description = "Case-insensitive username prefix", example = "jo")
+            @RequestParam(name = "username", required = false) String username,
+
+            @Parameter(description = "Case-insensitive email prefix", example = "john@")
+            @RequestParam(name = "email", required = false) String email,
+
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(name = "page", defaultValue = "0") int page,
+
+            @Parameter(description = "Number of items per page", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size,
+
+            @Parameter(description = "Sort field",
+                    schema = @Schema(allowableValues = {"username", "email", "createdAt",
+                            "postsCount", "commentsCount", "likesCount"}),
+                    example = "username")
+            @RequestParam(name = "sortBy", defaultValue = "username") String sortBy,
+
+            @Parameter(description = "Sort direction", schema = @Schema(allowableValues = {"asc", "desc"}))
+            @RequestParam(name = "direction", defaultValue = "asc") String direction) {
+
+        return ResponseEntity.ok(userService.getUsers(username, email, page, size, sortBy, direction));
     }
 }
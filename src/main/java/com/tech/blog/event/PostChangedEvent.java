@@ -0,0 +1,7 @@
+package com.tech.blog.event;
+
+/**
+ * Published inside the transaction that creates, edits, re-publishes or deletes a post.
+ */
+public record PostChangedEvent(Long postId) {
+}
@@ -1,5 +1,6 @@
 package com.tech.blog.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -16,6 +17,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(404).body(error);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequestException(
+            BadRequestException ex) {
+        ApiError error = new ApiError();
+        error.setMessage("Bad request");
+        error.setDetails(ex.getMessage());
+        return ResponseEntity.status(400).body(error);
+    }
+
+    @ExceptionHandler(UploadQueueFullException.class)
+    public ResponseEntity<ApiError> handleUploadQueueFullException(
+            UploadQueueFullException ex) {
+        ApiError error = new ApiError();
+        error.setMessage("Service busy");
+        error.setDetails(ex.getMessage());
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,7 @@
+package com.tech.blog.exception;
+
+public class UploadQueueFullException extends RuntimeException {
+    public UploadQueueFullException(String message) {
+        super(message);
+    }
+}
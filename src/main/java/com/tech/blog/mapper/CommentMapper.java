@@ -1,10 +1,12 @@
 package com.tech.blog.mapper;
 
+import com.tech.blog.model.dto.projection.CommentRow;
 import com.tech.blog.model.entity.Comment;
 import com.tech.blog.model.dto.request.CommentCreateRequest;
 import com.tech.blog.model.dto.request.CommentUpdateRequest;
 import com.tech.blog.model.dto.response.CommentResponse;
 import com.tech.blog.model.dto.response.CommentSummaryResponse;
+import com.tech.blog.model.dto.response.UserSummaryResponse;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", 
@@ -19,8 +21,16 @@ public interface CommentMapper {
     Comment toEntity(CommentCreateRequest createRequest);
 
     @Mapping(target = "author", source = "user")
+    @Mapping(target = "createdAt", source = "createAt")
     CommentResponse toResponse(Comment comment);
 
+    @Mapping(target = "id", source = "row.id")
+    @Mapping(target = "createdAt", source = "row.createAt")
+    @Mapping(target = "author", source = "author")
+    @Mapping(target = "post", ignore = true)
+    CommentResponse toResponse(CommentRow row, UserSummaryResponse author);
+
+    @Mapping(target = "createdAt", source = "createAt")
     CommentSummaryResponse toSummaryResponse(Comment comment);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
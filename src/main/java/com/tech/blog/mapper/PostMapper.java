@@ -24,6 +24,9 @@ public interface PostMapper {
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "updatedAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "views", ignore = true)
+    @Mapping(target = "coverImageVariants", ignore = true)
+    @Mapping(target = "likesCount", ignore = true)
+    @Mapping(target = "commentsCount", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "comments", ignore = true)
@@ -32,23 +35,17 @@ public interface PostMapper {
     Post toEntity(PostCreateRequest createRequest);
 
     @Mapping(target = "author", source = "user")
-    @Mapping(target = "commentsCount", expression = "java(post.getComments() != null ? post.getComments().size() : 0)")
-    @Mapping(target = "likesCount", expression = "java(post.getLikes() != null ? post.getLikes().size() : 0)")
     PostResponse toResponse(Post post);
 
     @Mapping(target = "coverImageUrl", source = "coverImageUrl")
     @Mapping(target = "publishedAt", source = "createdAt")
     @Mapping(target = "viewsCount", source = "views")
-    @Mapping(target = "likesCount", expression = "java(post.getLikes() != null ? post.getLikes().size() : 0)")
-    @Mapping(target = "commentsCount", expression = "java(post.getComments() != null ? post.getComments().size() : 0)")
     @Mapping(target = "categoryName", source = "category.name")
     @Mapping(target = "authorName", source = "user.username")
     @Mapping(target = "excerpt", expression = "java(generateExcerpt(post.getContent()))")
     @Mapping(target = "tags", source = "tags")
     PostPreviewDto toPreviewDto(Post post);
 
-    @Mapping(target = "commentsCount", expression = "java(post.getComments() != null ? post.getComments().size() : 0)")
-    @Mapping(target = "likesCount", expression = "java(post.getLikes() != null ? post.getLikes().size() : 0)")
     PostSummaryResponse toSummaryResponse(Post post);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -1,8 +1,10 @@
 package com.tech.blog.mapper;
 
+import com.tech.blog.model.dto.projection.UserDirectoryRow;
 import com.tech.blog.model.entity.User;
 import com.tech.blog.model.dto.request.RegisterRequest;
 import com.tech.blog.model.dto.request.UserUpdateRequest;
+import com.tech.blog.model.dto.response.UserDirectoryResponse;
 import com.tech.blog.model.dto.response.UserResponse;
 import com.tech.blog.model.dto.response.UserDetailResponse;
 import com.tech.blog.model.dto.response.UserSummaryResponse;
@@ -21,15 +23,21 @@ public interface UserMapper {
     @Mapping(target = "profilePictureUrl", ignore = true)
     User toEntity(RegisterRequest registerRequest);
 
-    @Mapping(target = "postsCount", expression = "java(user.getPosts().size())")
-    @Mapping(target = "commentsCount", expression = "java(user.getComments().size())")
-    @Mapping(target = "likesCount", expression = "java(user.getLikes().size())")
-    UserDetailResponse toDetailResponse(User user);
+    // Counts are passed in by the caller from user_stats and recent activity is filled in
+    // afterwards; sizing the lazy collections would load every row.
+    @Mapping(target = "postsCount", source = "postsCount")
+    @Mapping(target = "commentsCount", source = "commentsCount")
+    @Mapping(target = "likesCount", source = "likesCount")
+    @Mapping(target = "recentPosts", ignore = true)
+    @Mapping(target = "recentComments", ignore = true)
+    UserDetailResponse toDetailResponse(User user, Integer postsCount, Integer commentsCount, Integer likesCount);
 
     UserResponse toResponse(User user);
     
     UserSummaryResponse toSummaryResponse(User user);
 
+    UserDirectoryResponse toDirectoryResponse(UserDirectoryRow row);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateUserFromDto(UserUpdateRequest dto, @MappingTarget User user);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.tech.blog.model.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment's own columns plus its author's ID, read without touching the post or the user.
+ */
+public interface CommentRow {
+    Long getId();
+    String getContent();
+    LocalDateTime getCreateAt();
+    LocalDateTime getUpdatedAt();
+    Long getUserId();
+}
@@ -0,0 +1,14 @@
+package com.tech.blog.model.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregates over the posts of a feed that change whenever any of its pages could.
+ */
+public interface FeedVersion {
+    Long getPostCount();
+    LocalDateTime getLastUpdatedAt();
+    Long getLikesTotal();
+    Long getCommentsTotal();
+    Long getViewsTotal();
+}
@@ -0,0 +1,7 @@
+package com.tech.blog.model.dto.projection;
+
+public interface PostSearchRow {
+    Long getId();
+    Double getScore();
+    String getSnippet();
+}
@@ -0,0 +1,14 @@
+package com.tech.blog.model.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a post's representation changes with, read without loading the post.
+ */
+public interface PostVersion {
+    LocalDateTime getUpdatedAt();
+    Integer getViews();
+    Integer getLikesCount();
+    Integer getCommentsCount();
+    LocalDateTime getLastCommentAt();
+}
@@ -0,0 +1,23 @@
+package com.tech.blog.model.dto.projection;
+
+import com.tech.blog.model.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's profile columns with activity counts computed in the same query.
+ */
+public interface UserDirectoryRow {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    String getFirstname();
+    String getLastname();
+    Role getRole();
+    Boolean getIsActive();
+    LocalDateTime getCreatedAt();
+    String getProfilePictureUrl();
+    Long getPostsCount();
+    Long getCommentsCount();
+    Long getLikesCount();
+}
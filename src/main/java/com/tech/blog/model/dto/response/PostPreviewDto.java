@@ -3,6 +3,7 @@ package com.tech.blog.model.dto.response;
 import lombok.Builder;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 
 @Data
@@ -12,6 +13,7 @@ public class PostPreviewDto {
     private String title;
     private String excerpt;
     private String coverImageUrl;
+    private Map<Integer, String> coverImageVariants;
     private String authorName;
     private LocalDateTime publishedAt;
     private Integer viewsCount;
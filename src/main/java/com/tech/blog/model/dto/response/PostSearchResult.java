@@ -0,0 +1,19 @@
+package com.tech.blog.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Ranked full-text search hit")
+public class PostSearchResult {
+    @Schema(description = "Post preview")
+    private PostPreviewDto post;
+
+    @Schema(description = "HTML-escaped content fragment with matches wrapped in <mark> tags")
+    private String highlight;
+
+    @Schema(description = "Relevance score, higher is better", example = "0.42")
+    private double score;
+}
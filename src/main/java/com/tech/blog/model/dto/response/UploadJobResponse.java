@@ -0,0 +1,32 @@
+package com.tech.blog.model.dto.response;
+
+import com.tech.blog.model.enums.UploadStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder(toBuilder = true)
+@Schema(description = "State of an asynchronous image upload")
+public class UploadJobResponse {
+    @Schema(description = "Identifier to poll the job with", example = "3f2c1a9e-8d4b-4f7a-9c61-2b5e7d0a4c13")
+    private String jobId;
+
+    @Schema(description = "Current state of the upload")
+    private UploadStatus status;
+
+    @Schema(description = "URL of the uploaded image, once the job is done")
+    private String imageUrl;
+
+    @Schema(description = "URLs of resized copies keyed by width in pixels, when the upload produces them")
+    private Map<Integer, String> variants;
+
+    @Schema(description = "Reason the upload failed, if it did")
+    private String error;
+
+    @Schema(description = "When the upload was accepted")
+    private LocalDateTime createdAt;
+}
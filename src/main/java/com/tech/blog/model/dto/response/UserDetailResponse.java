@@ -3,10 +3,16 @@ package com.tech.blog.model.dto.response;
 
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 public class UserDetailResponse extends BaseResponse{
+    private Long id;
+    private String username;
+    private String firstname;
+    private String lastname;
+    private LocalDateTime createdAt;
     private Integer postsCount;
     private Integer commentsCount;
     private Integer likesCount;
@@ -0,0 +1,24 @@
+package com.tech.blog.model.dto.response;
+
+import com.tech.blog.model.enums.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Schema(description = "User listing entry with activity counts")
+public class UserDirectoryResponse {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstname;
+    private String lastname;
+    private Role role;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private String profilePictureUrl;
+    private long postsCount;
+    private long commentsCount;
+    private long likesCount;
+}
@@ -10,7 +10,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "comments")
+@NamedEntityGraph(name = "Comment.withAuthorAndPost", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("post")
+})
+@Table(name = "comments",
+        indexes = {
+                @Index(name = "idx_comments_post_created", columnList = "post_id, create_at, id"),
+                @Index(name = "idx_comments_user", columnList = "user_id")
+        })
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,11 +28,11 @@ public class Comment {
     private LocalDateTime createAt;
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 }
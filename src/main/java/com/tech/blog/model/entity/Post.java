@@ -3,17 +3,27 @@ package com.tech.blog.model.entity;
 import com.tech.blog.model.enums.PostStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "posts")
+@NamedEntityGraph(name = "Post.withAuthorCategoryAndTags", attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("tags")
+})
+@Table(name = "posts",
+        indexes = @Index(name = "idx_posts_user", columnList = "user_id"))
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +38,11 @@ public class Post {
 
     private String coverImageUrl;
 
+    /** Resized copies of the cover image keyed by width in pixels. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "cover_image_variants", columnDefinition = "jsonb")
+    private Map<Integer, String> coverImageVariants;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -36,6 +51,14 @@ public class Post {
 
     private int views;
 
+    @ColumnDefault("0")
+    @Column(name = "likes_count", nullable = false)
+    private int likesCount;
+
+    @ColumnDefault("0")
+    @Column(name = "comments_count", nullable = false)
+    private int commentsCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,51 @@
+package com.tech.blog.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denormalized activity counters and the IDs of a user's most recent posts and
+ * comments, newest first. Rows are created on first profile read and then kept
+ * current by the post, comment and like write paths.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @ColumnDefault("0")
+    @Column(name = "posts_count", nullable = false)
+    private int postsCount;
+
+    @ColumnDefault("0")
+    @Column(name = "comments_count", nullable = false)
+    private int commentsCount;
+
+    @ColumnDefault("0")
+    @Column(name = "likes_count", nullable = false)
+    private int likesCount;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recent_post_ids", columnDefinition = "bigint[]")
+    private List<Long> recentPostIds = new ArrayList<>();
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recent_comment_ids", columnDefinition = "bigint[]")
+    private List<Long> recentCommentIds = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,5 @@
+package com.tech.blog.model.enums;
+
+public enum UploadStatus {
+    PENDING, RUNNING, DONE, FAILED
+}
@@ -1,16 +1,37 @@
 package com.tech.blog.repository;
 
+import com.tech.blog.model.dto.projection.CommentRow;
 import com.tech.blog.model.entity.Comment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("SELECT c FROM Comment c JOIN FETCH c.post p LEFT JOIN FETCH p.comments WHERE c.id = :commentId")
-    Optional<Comment> findByIdWithPostAndComments(@Param("commentId") Long commentId);
+    @EntityGraph("Comment.withAuthorAndPost")
+    @Query("SELECT c FROM Comment c WHERE c.id = :commentId")
+    Optional<Comment> findByIdWithUserAndPost(@Param("commentId") Long commentId);
 
-    List<Comment> findByPostId(Long postId);
+    @Query("SELECT c FROM Comment c JOIN FETCH c.post WHERE c.id IN :ids")
+    List<Comment> findAllWithPostByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of a post's comments in (createAt, id) order, oldest first. Served
+     * by idx_comments_post_created; reads the author's foreign key without joining users.
+     */
+    @Query("SELECT c.id AS id, c.content AS content, c.createAt AS createAt, c.updatedAt AS updatedAt, " +
+            "c.user.id AS userId " +
+            "FROM Comment c WHERE c.post.id = :postId " +
+            "AND (c.createAt > :createAt OR (c.createAt = :createAt AND c.id > :id)) " +
+            "ORDER BY c.createAt ASC, c.id ASC")
+    List<CommentRow> findRowsByPostIdAfter(@Param("postId") Long postId,
+                                           @Param("createAt") LocalDateTime createAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.tech.blog.repository;
+
+import com.tech.blog.model.entity.ImageDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ImageDeletionRepository extends JpaRepository<ImageDeletion, Long> {
+
+    /**
+     * Locks a batch of due deletions. Rows already locked by another instance are
+     * skipped rather than waited on, so several workers can drain the queue together.
+     */
+    @Query(value = """
+            SELECT * FROM image_deletions
+            WHERE next_attempt_at <= :now AND attempts < :maxAttempts
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ImageDeletion> lockDue(@Param("now") LocalDateTime now,
+                                @Param("maxAttempts") int maxAttempts,
+                                @Param("limit") int limit);
+
+    long countByAttemptsLessThan(int maxAttempts);
+}
@@ -1,12 +1,19 @@
 package com.tech.blog.repository;
 
 import com.tech.blog.model.entity.Like;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
@@ -22,4 +29,30 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
 
     @Query("SELECT COUNT(l) FROM Like l WHERE l.post.id = :postId")
     long countByPostId(@Param("postId") Long postId);
+
+    @Query("SELECT l.post.id, COUNT(l) FROM Like l WHERE l.post.id IN :postIds GROUP BY l.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(
+            @Param("userId") Long userId,
+            @Param("postIds") Collection<Long> postIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.user.id, l.post.id FROM Like l")
+    Stream<Object[]> streamAllUserPostPairs();
+
+    @Modifying
+    @Query(value = "DELETE FROM likes WHERE user_id = :userId AND post_id = :postId", nativeQuery = true)
+    int deleteByUserIdAndPostId(
+            @Param("userId") Long userId,
+            @Param("postId") Long postId);
+
+    @Modifying
+    @Query(value = "INSERT INTO likes (user_id, post_id, created_at) " +
+            "SELECT :userId, p.id, now() FROM posts p WHERE p.id = :postId " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("userId") Long userId,
+            @Param("postId") Long postId);
 }
\ No newline at end of file
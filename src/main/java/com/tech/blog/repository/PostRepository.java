@@ -1,68 +1,196 @@
 package com.tech.blog.repository;
 
+import com.tech.blog.model.dto.projection.FeedVersion;
+import com.tech.blog.model.dto.projection.PostSearchRow;
+import com.tech.blog.model.dto.projection.PostVersion;
 import com.tech.blog.model.entity.Post;
 import com.tech.blog.model.dto.response.PostSummaryResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    @Query("SELECT p FROM Post p " +
-            "LEFT JOIN FETCH p.user " +
-            "LEFT JOIN FETCH p.category " +
-            "LEFT JOIN FETCH p.tags " +
-            "WHERE p.id = :id")
+    /**
+     * Loads a post with its author, category and tags in one query. Comments are left
+     * to batch fetching: joining them as well would multiply the row count by the tag count.
+     */
+    @EntityGraph("Post.withAuthorCategoryAndTags")
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
     Optional<Post> findByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * Adds each delta to the views of the post at the same index, in a single statement.
+     */
     @Modifying
-    @Query("UPDATE Post p SET p.views = p.views + 1 WHERE p.id = :id")
-    void incrementViews(@Param("id") Long id);
+    @Query(value = "UPDATE posts p SET views = p.views + d.delta " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:deltas AS integer[])) AS d(id, delta) " +
+            "WHERE p.id = d.id",
+            nativeQuery = true)
+    int incrementViews(@Param("ids") long[] ids, @Param("deltas") int[] deltas);
 
-    @Query("SELECT DISTINCT p FROM Post p " +
-            "LEFT JOIN FETCH p.user " +
-            "LEFT JOIN FETCH p.category " +
-            "LEFT JOIN FETCH p.tags " +
-            "WHERE p.status = 'PUBLISHED'")
-    Page<Post> findAllPublishedPosts(Pageable pageable);
+    /**
+     * Adjusts the like counter and returns the new value in the same statement.
+     * Empty when the post does not exist. Never goes below zero.
+     */
+    @Query(value = "UPDATE posts SET likes_count = GREATEST(likes_count + :delta, 0) WHERE id = :id " +
+            "RETURNING likes_count",
+            nativeQuery = true)
+    Optional<Integer> adjustLikesCountReturning(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentsCount = greatest(p.commentsCount + :delta, 0) WHERE p.id = :id")
+    int adjustCommentsCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE posts p SET " +
+            "likes_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id), " +
+            "comments_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) " +
+            "WHERE p.likes_count <> (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id) " +
+            "OR p.comments_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)",
+            nativeQuery = true)
+    int reconcileCounters();
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.status = 'PUBLISHED'",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.status = 'PUBLISHED'")
+    Page<Long> findPublishedPostIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p " +
+            "WHERE p.status = 'PUBLISHED' " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPublishedIdsBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    @Query("SELECT p.id FROM Post p " +
+            "WHERE p.status = 'PUBLISHED' " +
+            "AND (p.views < :views OR (p.views = :views AND p.id < :id)) " +
+            "ORDER BY p.views DESC, p.id DESC")
+    List<Long> findPublishedIdsBeforeViews(@Param("views") int views,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph("Post.withAuthorCategoryAndTags")
+    @Query("SELECT p FROM Post p WHERE p.id IN :ids")
+    List<Post> findAllWithPreviewDetailsByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT new com.tech.blog.model.dto.response.PostSummaryResponse(" +
             "p.id, p.title, p.createdAt, p.views, " +
-            "(SELECT COUNT(c) FROM Comment c WHERE c.post = p), " +
-            "(SELECT COUNT(l) FROM Like l WHERE l.post = p)) " +
+            "CAST(p.commentsCount AS Long), CAST(p.likesCount AS Long)) " +
             "FROM Post p")
     Page<PostSummaryResponse> findAllPostSummaries(Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.category.id = :categoryId and p.status = 'PUBLISHED'")
-    List<Post> findByCategory_Id(@Param("categoryId") Long categoryId);
+    @Query("SELECT new com.tech.blog.model.dto.response.PostSummaryResponse(" +
+            "p.id, p.title, p.createdAt, p.views, " +
+            "CAST(p.commentsCount AS Long), CAST(p.likesCount AS Long)) " +
+            "FROM Post p WHERE p.id IN :ids AND p.status = 'PUBLISHED'")
+    List<PostSummaryResponse> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Post p " +
+            "WHERE p.category.id = :categoryId " +
+            "AND p.status = 'PUBLISHED' " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPublishedIdsByCategoryBefore(@Param("categoryId") Long categoryId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
 
-    @Query("SELECT DISTINCT p FROM Post p " +
+    @Query("SELECT p.id FROM Post p " +
             "JOIN p.tags t " +
             "WHERE t.name = :tagName " +
             "AND p.status = 'PUBLISHED' " +
-            "ORDER BY p.createdAt DESC")
-    List<Post> findPostsByTagName(@Param("tagName") String tagName);
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPublishedIdsByTagNameBefore(@Param("tagName") String tagName,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Limit limit);
 
-    @Query("SELECT DISTINCT p FROM Post p " +
+    @Query("SELECT p.id FROM Post p " +
             "JOIN p.tags t " +
             "WHERE t.id = :tagId " +
             "AND p.status = 'PUBLISHED' " +
-            "ORDER BY p.createdAt DESC")
-    List<Post> findPostsByTagId(@Param("tagId") Long tagId);
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPublishedIdsByTagIdBefore(@Param("tagId") Long tagId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    /**
+     * Ranked page of published matches. Content is HTML-escaped before ts_headline, so
+     * the only markup in a snippet is the mark element it adds around matches.
+     */
+    @Query(value = "SELECT ranked.id AS id, ranked.score AS score, " +
+            "ts_headline('english', " +
+            "replace(replace(replace(replace(replace(coalesce(p.content, ''), " +
+            "'&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '\"', '&quot;'), '''', '&#39;'), " +
+            "ranked.tsq, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2') AS snippet " +
+            "FROM (SELECT sp.id, ts_rank_cd(sp.search_vector, q) AS score, q AS tsq " +
+            "      FROM posts sp, websearch_to_tsquery('english', :query) q " +
+            "      WHERE sp.status = 'PUBLISHED' AND sp.search_vector @@ q " +
+            "      ORDER BY score DESC, sp.id DESC " +
+            "      LIMIT :limit OFFSET :offset) ranked " +
+            "JOIN posts p ON p.id = ranked.id " +
+            "ORDER BY ranked.score DESC, ranked.id DESC",
+            nativeQuery = true)
+    List<PostSearchRow> searchPublished(@Param("query") String query,
+                                        @Param("limit") int limit,
+                                        @Param("offset") long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM posts p " +
+            "WHERE p.status = 'PUBLISHED' " +
+            "AND p.search_vector @@ websearch_to_tsquery('english', :query)",
+            nativeQuery = true)
+    long countPublishedMatches(@Param("query") String query);
+
+    @Query("SELECT p.updatedAt AS updatedAt, p.views AS views, " +
+            "p.likesCount AS likesCount, p.commentsCount AS commentsCount, " +
+            "(SELECT MAX(COALESCE(c.updatedAt, c.createAt)) FROM Comment c WHERE c.post.id = p.id) AS lastCommentAt " +
+            "FROM Post p WHERE p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
 
-    @Query("SELECT p FROM Post p " +
-            "WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "AND p.status = 'PUBLISHED'")
-    List<Post> searchPublishedByTitle(@Param("keyword") String keyword);
+    @Query("SELECT COUNT(p) AS postCount, MAX(p.updatedAt) AS lastUpdatedAt, " +
+            "COALESCE(SUM(p.likesCount), 0) AS likesTotal, COALESCE(SUM(p.commentsCount), 0) AS commentsTotal, " +
+            "COALESCE(SUM(p.views), 0) AS viewsTotal " +
+            "FROM Post p WHERE p.status = 'PUBLISHED'")
+    FeedVersion findPublishedFeedVersion();
 
+    @Query("SELECT COUNT(p) AS postCount, MAX(p.updatedAt) AS lastUpdatedAt, " +
+            "COALESCE(SUM(p.likesCount), 0) AS likesTotal, COALESCE(SUM(p.commentsCount), 0) AS commentsTotal, " +
+            "COALESCE(SUM(p.views), 0) AS viewsTotal " +
+            "FROM Post p WHERE p.status = 'PUBLISHED' AND p.category.id = :categoryId")
+    FeedVersion findPublishedFeedVersionByCategory(@Param("categoryId") Long categoryId);
 
+    @Query("SELECT COUNT(p) AS postCount, MAX(p.updatedAt) AS lastUpdatedAt, " +
+            "COALESCE(SUM(p.likesCount), 0) AS likesTotal, COALESCE(SUM(p.commentsCount), 0) AS commentsTotal, " +
+            "COALESCE(SUM(p.views), 0) AS viewsTotal " +
+            "FROM Post p JOIN p.tags t WHERE p.status = 'PUBLISHED' AND t.name = :tagName")
+    FeedVersion findPublishedFeedVersionByTagName(@Param("tagName") String tagName);
 
-}
\ No newline at end of file
+    @Query("SELECT COUNT(p) AS postCount, MAX(p.updatedAt) AS lastUpdatedAt, " +
+            "COALESCE(SUM(p.likesCount), 0) AS likesTotal, COALESCE(SUM(p.commentsCount), 0) AS commentsTotal, " +
+            "COALESCE(SUM(p.views), 0) AS viewsTotal " +
+            "FROM Post p JOIN p.tags t WHERE p.status = 'PUBLISHED' AND t.id = :tagId")
+    FeedVersion findPublishedFeedVersionByTagId(@Param("tagId") Long tagId);
+}
@@ -1,7 +1,13 @@
 package com.tech.blog.repository;
 
+import com.tech.blog.model.dto.projection.UserDirectoryRow;
 import com.tech.blog.model.entity.User;
+import com.tech.blog.model.enums.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,4 +17,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     Optional<User> findByUsernameOrEmail(String username, String email);
+
+    @Query("SELECT u.role FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<Role> findActiveRoleById(@Param("id") Long id);
+
+    /**
+     * One page of the user directory. Activity counts are correlated subqueries over
+     * the user_id indexes, so each costs an index lookup per listed user rather than a
+     * load of the collections. Patterns are lower-cased LIKE prefixes; pass "%" for no filter.
+     */
+    @Query(value = "SELECT u.id AS id, u.username AS username, u.email AS email, " +
+            "u.firstname AS firstname, u.lastname AS lastname, u.role AS role, u.isActive AS isActive, " +
+            "u.createdAt AS createdAt, u.profilePictureUrl AS profilePictureUrl, " +
+            "(SELECT COUNT(p) FROM Post p WHERE p.user = u) AS postsCount, " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.user = u) AS commentsCount, " +
+            "(SELECT COUNT(l) FROM Like l WHERE l.user = u) AS likesCount " +
+            "FROM User u " +
+            "WHERE LOWER(u.username) LIKE :usernamePattern ESCAPE '\\' " +
+            "AND LOWER(u.email) LIKE :emailPattern ESCAPE '\\'",
+            countQuery = "SELECT COUNT(u) FROM User u " +
+                    "WHERE LOWER(u.username) LIKE :usernamePattern ESCAPE '\\' " +
+                    "AND LOWER(u.email) LIKE :emailPattern ESCAPE '\\'")
+    Page<UserDirectoryRow> findDirectory(@Param("usernamePattern") String usernamePattern,
+                                         @Param("emailPattern") String emailPattern,
+                                         Pageable pageable);
 }
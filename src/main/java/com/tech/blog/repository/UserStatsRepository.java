@@ -0,0 +1,122 @@
+package com.tech.blog.repository;
+
+import com.tech.blog.model.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Every write is a single statement, so concurrent updates to the same user never
+ * lose increments. Updates are no-ops for users without a row yet; {@link #backfill}
+ * computes their row from the source tables, including whatever those writes added.
+ */
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    /** Number of post and comment IDs kept in the recent activity rings. */
+    int RECENT_ACTIVITY_SIZE = 10;
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET posts_count = posts_count + 1, " +
+            "recent_post_ids = (ARRAY[CAST(:postId AS bigint)] || recent_post_ids)[1:" + RECENT_ACTIVITY_SIZE + "], " +
+            "updated_at = now() WHERE user_id = :userId",
+            nativeQuery = true)
+    int recordPostCreated(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    /**
+     * Decrements the post counter and rebuilds the recent posts ring from the posts table,
+     * so an older post moves up to replace the deleted one.
+     */
+    @Modifying
+    @Query(value = "UPDATE user_stats SET posts_count = GREATEST(posts_count - 1, 0), " +
+            "recent_post_ids = ARRAY(SELECT p.id FROM posts p WHERE p.user_id = :userId AND p.id <> :postId " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT " + RECENT_ACTIVITY_SIZE + "), " +
+            "updated_at = now() WHERE user_id = :userId",
+            nativeQuery = true)
+    int recordPostDeleted(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET comments_count = comments_count + 1, " +
+            "recent_comment_ids = (ARRAY[CAST(:commentId AS bigint)] || recent_comment_ids)[1:" + RECENT_ACTIVITY_SIZE + "], " +
+            "updated_at = now() WHERE user_id = :userId",
+            nativeQuery = true)
+    int recordCommentCreated(@Param("userId") Long userId, @Param("commentId") Long commentId);
+
+    /**
+     * Decrements the comment counter and rebuilds the recent comments ring from the
+     * comments table, so an older comment moves up to replace the deleted one.
+     */
+    @Modifying
+    @Query(value = "UPDATE user_stats SET comments_count = GREATEST(comments_count - 1, 0), " +
+            "recent_comment_ids = ARRAY(SELECT c.id FROM comments c WHERE c.user_id = :userId AND c.id <> :commentId " +
+            "ORDER BY c.create_at DESC, c.id DESC LIMIT " + RECENT_ACTIVITY_SIZE + "), " +
+            "updated_at = now() WHERE user_id = :userId",
+            nativeQuery = true)
+    int recordCommentDeleted(@Param("userId") Long userId, @Param("commentId") Long commentId);
+
+    @Modifying
+    @Query(value = "UPDATE user_stats SET likes_count = GREATEST(likes_count + :delta, 0), updated_at = now() " +
+            "WHERE user_id = :userId",
+            nativeQuery = true)
+    int adjustLikesCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    /**
+     * Creates the row for an existing user from the source tables. Does nothing if the
+     * row already exists or the user does not.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stats (user_id, posts_count, comments_count, likes_count, " +
+            "recent_post_ids, recent_comment_ids, updated_at) " +
+            "SELECT u.id, " +
+            "(SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id), " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.user_id = u.id), " +
+            "(SELECT COUNT(*) FROM likes l WHERE l.user_id = u.id), " +
+            "ARRAY(SELECT p.id FROM posts p WHERE p.user_id = u.id " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT " + RECENT_ACTIVITY_SIZE + "), " +
+            "ARRAY(SELECT c.id FROM comments c WHERE c.user_id = u.id " +
+            "ORDER BY c.create_at DESC, c.id DESC LIMIT " + RECENT_ACTIVITY_SIZE + "), " +
+            "now() " +
+            "FROM users u WHERE u.id = :userId " +
+            "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int backfill(@Param("userId") Long userId);
+
+    /**
+     * Repairs counters that drifted, e.g. through likes and comments removed together
+     * with a deleted post.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user_stats s SET " +
+            "posts_count = (SELECT COUNT(*) FROM posts p WHERE p.user_id = s.user_id), " +
+            "comments_count = (SELECT COUNT(*) FROM comments c WHERE c.user_id = s.user_id), " +
+            "likes_count = (SELECT COUNT(*) FROM likes l WHERE l.user_id = s.user_id), " +
+            "updated_at = now() " +
+            "WHERE s.posts_count <> (SELECT COUNT(*) FROM posts p WHERE p.user_id = s.user_id) " +
+            "OR s.comments_count <> (SELECT COUNT(*) FROM comments c WHERE c.user_id = s.user_id) " +
+            "OR s.likes_count <> (SELECT COUNT(*) FROM likes l WHERE l.user_id = s.user_id)",
+            nativeQuery = true)
+    int reconcileCounters();
+
+    /**
+     * Rebuilds recent activity rings that no longer match the source tables, e.g. after
+     * comments were removed together with a deleted post.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user_stats s SET " +
+            "recent_post_ids = r.post_ids, recent_comment_ids = r.comment_ids, updated_at = now() " +
+            "FROM (SELECT rs.user_id, " +
+            "ARRAY(SELECT p.id FROM posts p WHERE p.user_id = rs.user_id " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT " + RECENT_ACTIVITY_SIZE + ") AS post_ids, " +
+            "ARRAY(SELECT c.id FROM comments c WHERE c.user_id = rs.user_id " +
+            "ORDER BY c.create_at DESC, c.id DESC LIMIT " + RECENT_ACTIVITY_SIZE + ") AS comment_ids " +
+            "FROM user_stats rs) r " +
+            "WHERE r.user_id = s.user_id " +
+            "AND (s.recent_post_ids IS DISTINCT FROM r.post_ids OR s.recent_comment_ids IS DISTINCT FROM r.comment_ids)",
+            nativeQuery = true)
+    int reconcileRecentActivity();
+}
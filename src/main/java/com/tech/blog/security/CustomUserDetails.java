@@ -1,6 +1,7 @@
 package com.tech.blog.security;
 
 import com.tech.blog.model.entity.User;
+import com.tech.blog.model.enums.Role;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,6 +24,13 @@ public class CustomUserDetails implements UserDetails {
         this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
 
+    public CustomUserDetails(Long userId, String username, Role role) {
+        this.username = username;
+        this.password = null;
+        this.userId = userId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return true;
@@ -0,0 +1,106 @@
+package com.tech.blog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tech.blog.repository.UserRepository;
+import com.tech.blog.util.JwtUtils;
+import com.tech.blog.util.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Caches principals of verified tokens, keyed by the SHA-256 of the token.
+ * A token is parsed and checked against the database once; later requests carrying
+ * the same token skip both. Entries never outlive the token and are capped at
+ * {@code app.security.principal-cache.max-ttl}. The application has no endpoint that
+ * changes a user's role or active flag, so changes made directly in the database are
+ * picked up within that window.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private record CachedPrincipal(CustomUserDetails userDetails, Instant expiresAt) {
+    }
+
+    private final JwtUtils jwtUtils;
+    private final UserRepository userRepository;
+    private final Cache<String, CachedPrincipal> cache;
+
+    public JwtPrincipalCache(JwtUtils jwtUtils,
+                             UserRepository userRepository,
+                             @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                             @Value("${app.security.principal-cache.max-ttl:5m}") Duration maxTtl) {
+        this.jwtUtils = jwtUtils;
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                        Duration untilExpiry = Duration.between(Instant.now(), value.expiresAt());
+                        return Math.max(0, Math.min(untilExpiry.toNanos(), maxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedPrincipal value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the principal for a token, or null when the account behind it is
+     * inactive or its role no longer matches the token.
+     *
+     * @throws JwtException if the token is malformed, expired or badly signed
+     */
+    public CustomUserDetails resolve(String token) {
+        String key = hash(token);
+        CachedPrincipal cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.userDetails();
+        }
+
+        VerifiedToken verified = jwtUtils.verify(token);
+        if (verified.userId() == null || verified.role() == null) {
+            return null;
+        }
+
+        boolean accountMatches = userRepository.findActiveRoleById(verified.userId())
+                .map(verified.role()::equals)
+                .orElse(false);
+        if (!accountMatches) {
+            return null;
+        }
+
+        CustomUserDetails userDetails = new CustomUserDetails(verified.userId(), verified.username(), verified.role());
+        cache.put(key, new CachedPrincipal(userDetails, verified.expiration().toInstant()));
+        return userDetails;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.tech.blog.service.impl;
 
+import com.tech.blog.config.CacheNames;
 import com.tech.blog.exception.ResourceNotFoundException;
 import com.tech.blog.mapper.CategoryMapper;
 import com.tech.blog.model.dto.request.CategoryCreateRequest;
@@ -10,6 +11,10 @@ import com.tech.blog.repository.CategoryRepository;
 import com.tech.blog.service.interfaces.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,6 +31,7 @@ public class CategoryServiceImpl implements CategoryService {
 
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true)
     public CategoryResponse save(CategoryCreateRequest request) {
 
         log.info("Creating category Name: {}", request.getName());
@@ -39,6 +45,10 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(
+            evict = @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true),
+            put = @CachePut(cacheNames = CacheNames.CATEGORY, key = "#p0")
+    )
     public CategoryResponse update(Long id, CategoryUpdateRequest request) {
         log.info("Updating category with id: {}", id);
 
@@ -54,6 +64,10 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.CATEGORY, key = "#p0")
+    })
     public void delete(Long id) {
 
         log.info("Deleting category with id: {}", id);
@@ -67,6 +81,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.CATEGORIES, key = "'all'")
     public List<CategoryResponse> fetchAll() {
         log.info("Fetching all categories");
 
@@ -77,6 +92,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.CATEGORY, key = "#p0")
     public CategoryResponse findById(Long id) {
         log.info("Fetching category with id: {}", id);
 
@@ -0,0 +1,43 @@
+package com.tech.blog.service.impl;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.tech.blog.service.interfaces.ImageStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.upload.store", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStore implements ImageStore {
+
+    private final Cloudinary cloudinary;
+
+    @Override
+    public String store(Path file) throws IOException {
+        Map<?, ?> uploadResult = cloudinary.uploader()
+                .upload(file.toFile(), ObjectUtils.emptyMap());
+        String url = (String) uploadResult.get("secure_url");
+        if (url == null) {
+            throw new IOException("Cloudinary returned no URL");
+        }
+        return url;
+    }
+
+    @Override
+    public void delete(String publicId) throws IOException {
+        cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+    }
+
+    @Override
+    public String publicIdFromUrl(String url) {
+        if (url == null) return null;
+        String[] parts = url.split("/");
+        return parts[parts.length - 1].split("\\.")[0];
+    }
+}
@@ -1,27 +1,38 @@
 package com.tech.blog.service.impl;
 
+import com.tech.blog.exception.BadRequestException;
 import com.tech.blog.exception.BlogApiException;
 import com.tech.blog.exception.ResourceNotFoundException;
 import com.tech.blog.mapper.CommentMapper;
+import com.tech.blog.mapper.UserMapper;
 import com.tech.blog.model.dto.request.CommentCreateRequest;
 import com.tech.blog.model.dto.request.CommentUpdateRequest;
+import com.tech.blog.model.dto.projection.CommentRow;
 import com.tech.blog.model.dto.response.CommentResponse;
+import com.tech.blog.model.dto.response.CursorPageResponse;
+import com.tech.blog.model.dto.response.UserSummaryResponse;
 import com.tech.blog.model.entity.Comment;
 import com.tech.blog.model.entity.Post;
 import com.tech.blog.model.entity.User;
 import com.tech.blog.repository.CommentRepository;
 import com.tech.blog.repository.PostRepository;
 import com.tech.blog.repository.UserRepository;
+import com.tech.blog.repository.UserStatsRepository;
 import com.tech.blog.service.interfaces.CommentService;
+import com.tech.blog.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,10 +40,16 @@ import java.util.stream.Collectors;
 @Validated
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SORT_KEY = "createAt";
+    private static final LocalDateTime CURSOR_START_CREATE_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final PostRepository postRepository;
     private final CommentMapper commentMapper;
+    private final UserMapper userMapper;
 
     @Override
     @Transactional
@@ -53,6 +70,8 @@ public class CommentServiceImpl implements CommentService {
             comment.setUpdatedAt(LocalDateTime.now());
 
             Comment savedComment = commentRepository.save(comment);
+            postRepository.adjustCommentsCount(post.getId(), 1);
+            userStatsRepository.recordCommentCreated(userId, savedComment.getId());
             log.debug("Created new comment {} for user {} on post {}", savedComment.getId(), userId, request.getPostId());
             return commentMapper.toResponse(savedComment);
         } catch (DataIntegrityViolationException e) {
@@ -65,7 +84,7 @@ public class CommentServiceImpl implements CommentService {
     @Transactional(readOnly = true)
     public CommentResponse getComment(Long commentId) {
         log.debug("Fetching comment with id {}", commentId);
-        Comment comment = commentRepository.findByIdWithPostAndComments(commentId)
+        Comment comment = commentRepository.findByIdWithUserAndPost(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentId));
         return commentMapper.toResponse(comment);
     }
@@ -77,22 +96,60 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentId));
         commentRepository.delete(comment);
+        postRepository.adjustCommentsCount(comment.getPost().getId(), -1);
+        userStatsRepository.recordCommentDeleted(comment.getUser().getId(), commentId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentResponse> getCommentsByPostId(Long postId) {
-        log.debug("Fetching comments for post with id {}", postId);
-        return commentRepository.findByPostId(postId).stream()
-                .map(commentMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<CommentResponse> getCommentsByPostId(Long postId, String cursor, int size) {
+        log.debug("Fetching comments for post with id {} from cursor {}", postId, cursor);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post", "id", postId);
+        }
+
+        CursorCodec.Cursor position = cursor != null ? CursorCodec.decode(cursor, CURSOR_SORT_KEY) : null;
+        LocalDateTime createAt;
+        try {
+            createAt = position != null ? LocalDateTime.parse(position.value()) : CURSOR_START_CREATE_AT;
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+
+        List<CommentRow> rows = commentRepository.findRowsByPostIdAfter(postId, createAt,
+                position != null ? position.id() : 0L, Limit.of(size + 1));
+        boolean last = rows.size() <= size;
+        List<CommentRow> page = last ? rows : rows.subList(0, size);
+
+        // One IN query for every author on the page, however many comments they wrote.
+        Set<Long> authorIds = page.stream().map(CommentRow::getUserId).collect(Collectors.toSet());
+        Map<Long, UserSummaryResponse> authors = userRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(User::getId, userMapper::toSummaryResponse));
+
+        String nextCursor = null;
+        if (!last) {
+            CommentRow tail = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(CURSOR_SORT_KEY, tail.getCreateAt(), tail.getId());
+        }
+
+        return CursorPageResponse.<CommentResponse>builder()
+                .content(page.stream()
+                        .map(row -> commentMapper.toResponse(row, authors.get(row.getUserId())))
+                        .toList())
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .last(last)
+                .build();
     }
 
     @Override
     @Transactional
     public CommentResponse updateComment(Long commentId, CommentUpdateRequest request) {
         log.debug("Updating comment with id {}", commentId);
-        Comment comment = commentRepository.findById(commentId)
+        Comment comment = commentRepository.findByIdWithUserAndPost(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentId));
 
         comment.setContent(request.getContent());
@@ -0,0 +1,158 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.model.entity.ImageDeletion;
+import com.tech.blog.repository.ImageDeletionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes orphaned images outside of the transactions that orphan them. Callers
+ * record public IDs with {@link #enqueue(Collection)} as part of their own
+ * transaction; a scheduled worker later claims due rows, calls the image store
+ * without holding a transaction, and retries failures with exponential backoff.
+ */
+@Slf4j
+@Component
+public class ImageDeletionOutbox {
+
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final ImageService imageService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter failures;
+    private final Counter abandoned;
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    @Value("${app.image-deletion.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.image-deletion.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.image-deletion.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.image-deletion.max-backoff:6h}")
+    private Duration maxBackoff;
+
+    // Claimed rows are pushed this far into the future, so a worker that dies
+    // mid-batch only delays them instead of losing them.
+    @Value("${app.image-deletion.lease:5m}")
+    private Duration lease;
+
+    public ImageDeletionOutbox(ImageDeletionRepository imageDeletionRepository,
+                               ImageService imageService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.imageDeletionRepository = imageDeletionRepository;
+        this.imageService = imageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.failures = Counter.builder("blog.images.deletions.failures")
+                .description("Image store delete attempts that failed and will be retried")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("blog.images.deletions.abandoned")
+                .description("Image deletions given up on after reaching the attempt limit")
+                .register(meterRegistry);
+        Gauge.builder("blog.images.deletions.pending", queueDepth, AtomicLong::get)
+                .description("Image deletions waiting to be processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records images to delete. Runs in the caller's transaction, so the rows are
+     * discarded if that transaction rolls back.
+     */
+    @Transactional
+    public void enqueue(Collection<String> publicIds) {
+        if (publicIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        imageDeletionRepository.saveAll(publicIds.stream()
+                .map(publicId -> ImageDeletion.builder()
+                        .publicId(publicId)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.image-deletion.interval-ms:10000}")
+    public void processDue() {
+        List<ImageDeletion> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+
+            List<Long> deleted = new ArrayList<>(batch.size());
+            List<ImageDeletion> failed = new ArrayList<>();
+            for (ImageDeletion deletion : batch) {
+                try {
+                    imageService.deleteImage(deletion.getPublicId());
+                    deleted.add(deletion.getId());
+                } catch (Exception e) {
+                    failures.increment();
+                    scheduleRetry(deletion, e);
+                    failed.add(deletion);
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                imageDeletionRepository.deleteAllByIdInBatch(deleted);
+                imageDeletionRepository.saveAll(failed);
+            });
+            log.debug("Deleted {} images, {} failed", deleted.size(), failed.size());
+        } while (batch.size() == batchSize);
+
+        queueDepth.set(imageDeletionRepository.countByAttemptsLessThan(maxAttempts));
+    }
+
+    private List<ImageDeletion> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageDeletion> due = imageDeletionRepository.lockDue(now, maxAttempts, batchSize);
+        due.forEach(deletion -> deletion.setNextAttemptAt(now.plus(lease)));
+        return due;
+    }
+
+    private void scheduleRetry(ImageDeletion deletion, Exception e) {
+        int attempts = deletion.getAttempts() + 1;
+        deletion.setAttempts(attempts);
+        deletion.setLastError(truncate(e.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            abandoned.increment();
+            log.error("Giving up on deleting image {} after {} attempts", deletion.getPublicId(), attempts, e);
+            return;
+        }
+
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        deletion.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("Failed to delete image {} (attempt {}), retrying in {}", deletion.getPublicId(), attempts, backoff, e);
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= 1000) {
+            return message;
+        }
+        return message.substring(0, 1000);
+    }
+}
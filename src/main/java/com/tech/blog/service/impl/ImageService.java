@@ -1,38 +1,60 @@
 package com.tech.blog.service.impl;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.tech.blog.service.interfaces.ImageStore;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 
 @Service
 public class ImageService {
 
-    private final Cloudinary cloudinary;
+    private final ImageStore imageStore;
 
-    public ImageService(Cloudinary cloudinary) {
-        this.cloudinary = cloudinary;
+    public ImageService(ImageStore imageStore) {
+        this.imageStore = imageStore;
     }
 
     public Optional<String> uploadImage(MultipartFile file) {
+        Path tempFile = null;
         try {
-            Map<?, ?> uploadResult = cloudinary.uploader()
-                    .upload(file.getBytes(), ObjectUtils.emptyMap());
-            return Optional.ofNullable((String) uploadResult.get("secure_url"));
+            tempFile = Files.createTempFile("blog-upload-", null);
+            file.transferTo(tempFile);
+            return uploadImage(tempFile);
         } catch (IOException e) {
             return Optional.empty();
+        } finally {
+            deleteQuietly(tempFile);
         }
     }
 
-    public void deleteImage(String publicId) {
+    /**
+     * Uploads a file already staged on disk. The store streams it from the file
+     * rather than holding the whole image on the heap.
+     */
+    public Optional<String> uploadImage(Path file) throws IOException {
+        return Optional.ofNullable(imageStore.store(file));
+    }
+
+    public void deleteImage(String publicId) throws IOException {
+        imageStore.delete(publicId);
+    }
+
+    public String publicIdFromUrl(String url) {
+        return imageStore.publicIdFromUrl(url);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
         try {
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to delete image", e);
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // left for the OS to clean up with the rest of the temp directory
         }
     }
-}
\ No newline at end of file
+}
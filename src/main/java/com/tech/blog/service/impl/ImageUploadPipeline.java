@@ -0,0 +1,242 @@
+package com.tech.blog.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tech.blog.exception.BadRequestException;
+import com.tech.blog.exception.UploadQueueFullException;
+import com.tech.blog.model.dto.response.UploadJobResponse;
+import com.tech.blog.model.enums.UploadStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Uploads images off the request thread. The multipart part is moved to a temp
+ * file before the request returns, then a bounded worker pool pushes it to the
+ * image host and hands the resulting URL to a completion callback. Callers get a
+ * job handle back immediately and poll it through {@link #getJob(String)}.
+ * Images that were uploaded but end up unreferenced, because a later variant
+ * upload or the callback failed, are handed to {@link ImageDeletionOutbox}.
+ */
+@Slf4j
+@Component
+public class ImageUploadPipeline {
+
+    private final ImageService imageService;
+    private final ImageVariantGenerator variantGenerator;
+    private final ImageDeletionOutbox imageDeletionOutbox;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, UploadJobResponse> jobs;
+
+    public ImageUploadPipeline(ImageService imageService,
+                               ImageVariantGenerator variantGenerator,
+                               ImageDeletionOutbox imageDeletionOutbox,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.upload.workers:4}") int workers,
+                               @Value("${app.upload.queue-capacity:20}") int queueCapacity,
+                               @Value("${app.upload.job-ttl:1h}") Duration jobTtl,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.imageService = imageService;
+        this.variantGenerator = variantGenerator;
+        this.imageDeletionOutbox = imageDeletionOutbox;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobTtl)
+                .maximumSize(10_000)
+                .build();
+        Gauge.builder("blog.uploads.queued", executor, e -> e.getQueue().size())
+                .description("Image uploads waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stages the file and queues its upload.
+     *
+     * @param onUploaded receives the image URL on a worker thread once the upload succeeds;
+     *                   an exception thrown here marks the job as failed
+     * @throws UploadQueueFullException if every worker is busy and the queue is full
+     */
+    public UploadJobResponse submit(MultipartFile file, Consumer<String> onUploaded) {
+        return enqueue(file, false, image -> onUploaded.accept(image.url()));
+    }
+
+    /**
+     * Like {@link #submit(MultipartFile, Consumer)}, but also uploads resized variants
+     * from {@link ImageVariantGenerator}. A failure to produce variants is logged and
+     * the job completes with the original image only, except for images above the pixel
+     * limit, which fail the job before anything is uploaded.
+     */
+    public UploadJobResponse submitWithVariants(MultipartFile file, Consumer<UploadedImage> onUploaded) {
+        return enqueue(file, true, onUploaded);
+    }
+
+    public Optional<UploadJobResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private UploadJobResponse enqueue(MultipartFile file, boolean withVariants, Consumer<UploadedImage> onUploaded) {
+        Path stagedFile = stage(file);
+        UploadJobResponse job = UploadJobResponse.builder()
+                .jobId(UUID.randomUUID().toString())
+                .status(UploadStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+        jobs.put(job.getJobId(), job);
+
+        try {
+            executor.execute(() -> run(job, stagedFile, withVariants, onUploaded));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getJobId());
+            deleteQuietly(stagedFile);
+            throw new UploadQueueFullException("Too many uploads in progress, try again shortly");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Abandoning {} queued image uploads at shutdown", executor.shutdownNow().size());
+        }
+    }
+
+    private void run(UploadJobResponse job, Path stagedFile, boolean withVariants,
+                     Consumer<UploadedImage> onUploaded) {
+        jobs.put(job.getJobId(), job.toBuilder().status(UploadStatus.RUNNING).build());
+        Map<Integer, Path> variantFiles = Map.of();
+        List<String> uploadedUrls = new ArrayList<>();
+        try {
+            // Decoding checks the dimensions, so oversized images are rejected before the upload.
+            variantFiles = withVariants ? generateVariants(job, stagedFile) : Map.of();
+            String imageUrl = imageService.uploadImage(stagedFile)
+                    .orElseThrow(() -> new IOException("Image host returned no URL"));
+            uploadedUrls.add(imageUrl);
+            Map<Integer, String> variants = uploadVariants(job, variantFiles);
+            uploadedUrls.addAll(variants.values());
+            onUploaded.accept(new UploadedImage(imageUrl, variants));
+            jobs.put(job.getJobId(), job.toBuilder()
+                    .status(UploadStatus.DONE)
+                    .imageUrl(imageUrl)
+                    .variants(variants.isEmpty() ? null : variants)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Image upload job {} failed", job.getJobId(), e);
+            discard(job, uploadedUrls);
+            jobs.put(job.getJobId(), job.toBuilder()
+                    .status(UploadStatus.FAILED)
+                    .error(e.getMessage())
+                    .build());
+        } finally {
+            deleteQuietly(stagedFile);
+            variantFiles.values().forEach(this::deleteQuietly);
+        }
+    }
+
+    private Map<Integer, Path> generateVariants(UploadJobResponse job, Path stagedFile) throws IOException {
+        try {
+            return variantGenerator.generate(stagedFile);
+        } catch (ImageVariantGenerator.ImageTooLargeException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not produce image variants for upload job {}", job.getJobId(), e);
+            return Map.of();
+        }
+    }
+
+    private Map<Integer, String> uploadVariants(UploadJobResponse job, Map<Integer, Path> files) {
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<Integer, Path> variant : files.entrySet()) {
+                imageService.uploadImage(variant.getValue())
+                        .ifPresent(url -> urls.put(variant.getKey(), url));
+            }
+            return urls;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not upload image variants for upload job {}", job.getJobId(), e);
+            discard(job, urls.values());
+            return Map.of();
+        }
+    }
+
+    private void discard(UploadJobResponse job, Collection<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+        try {
+            imageDeletionOutbox.enqueue(urls.stream().map(imageService::publicIdFromUrl).toList());
+        } catch (RuntimeException e) {
+            log.error("Could not queue deletion of {} orphaned images from upload job {}: {}",
+                    urls.size(), job.getJobId(), urls, e);
+        }
+    }
+
+    private Path stage(MultipartFile file) {
+        Path stagedFile = null;
+        try {
+            stagedFile = Files.createTempFile("blog-upload-", null);
+            // Moves the part if the container already spooled it to disk, streams it otherwise.
+            file.transferTo(stagedFile);
+            return stagedFile;
+        } catch (IOException e) {
+            deleteQuietly(stagedFile);
+            throw new BadRequestException("Could not read uploaded file: " + e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete staged upload {}", file, e);
+        }
+    }
+
+    /**
+     * Uploads spend nearly all their time waiting on the image host, so in virtual-thread
+     * mode the workers are virtual. The pool size and queue still bound how many run at once.
+     */
+    private static ThreadFactory threadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("image-upload-", 1).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "image-upload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public record UploadedImage(String url, Map<Integer, String> variants) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.tech.blog.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces width-bucketed copies of an uploaded image so feed cards can load the
+ * smallest one that fits. Variants are encoded as WebP when an ImageIO writer for
+ * it is on the classpath and as JPEG otherwise. Widths at or above the original
+ * are skipped, the original upload already covers them. Sources whose declared
+ * dimensions exceed {@code app.upload.max-pixels} are rejected before decoding,
+ * since a small compressed file can expand into gigabytes of raster.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private final List<Integer> widths;
+    private final long maxPixels;
+    private final String format;
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantGenerator(@Value("${app.upload.variants.widths:320,640,1280}") List<Integer> widths,
+                                 @Value("${app.upload.variants.threads:2}") int threads,
+                                 @Value("${app.upload.max-pixels:40000000}") long maxPixels) {
+        this.widths = widths.stream().sorted().toList();
+        this.maxPixels = maxPixels;
+        this.format = ImageIO.getImageWritersByFormatName("webp").hasNext() ? "webp" : "jpg";
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), namedThreads());
+        log.info("Generating {} image variants for widths {}", format, this.widths);
+    }
+
+    /**
+     * Decodes the source once and scales it to each configured width in parallel.
+     * The caller owns the returned temp files and must delete them.
+     *
+     * @return variant files keyed by width, smallest first; empty if the source is not a readable image
+     * @throws ImageTooLargeException if the source declares more than the configured number of pixels
+     */
+    public Map<Integer, Path> generate(Path source) throws IOException {
+        BufferedImage original = read(source);
+        if (original == null) {
+            return Map.of();
+        }
+
+        Map<Integer, Future<Path>> pending = new LinkedHashMap<>();
+        for (int width : widths) {
+            if (width < original.getWidth()) {
+                pending.put(width, executor.submit(() -> writeVariant(original, width)));
+            }
+        }
+
+        Map<Integer, Path> variants = new LinkedHashMap<>();
+        List<IOException> failures = new ArrayList<>();
+        for (Map.Entry<Integer, Future<Path>> entry : pending.entrySet()) {
+            try {
+                variants.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                failures.add(new IOException("Failed to generate " + entry.getKey() + "px variant", e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.add(new IOException("Interrupted while generating variants", e));
+                break;
+            }
+        }
+        if (!failures.isEmpty()) {
+            variants.values().forEach(this::deleteQuietly);
+            throw failures.getFirst();
+        }
+        return variants;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Decodes the first image in the file after checking the dimensions from its header.
+     */
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new ImageTooLargeException("Image is " + width + "x" + height
+                            + " pixels, more than the limit of " + maxPixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Path writeVariant(BufferedImage original, int width) {
+        int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+        BufferedImage scaled = scale(original, width, height);
+
+        Path target = null;
+        try {
+            target = Files.createTempFile("blog-variant-" + width + "-", "." + format);
+            if (!ImageIO.write(scaled, format, target.toFile())) {
+                throw new IOException("No ImageIO writer for " + format);
+            }
+            return target;
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Halves the image until it is within 2x of the target before the final bilinear
+     * pass; a single large bilinear step drops too many source pixels and aliases.
+     */
+    private BufferedImage scale(BufferedImage original, int width, int height) {
+        BufferedImage current = original;
+        int currentWidth = original.getWidth();
+        int currentHeight = original.getHeight();
+
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            // JPEG has no alpha channel, so flatten onto white instead of letting transparency turn black.
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete image variant {}", file, e);
+        }
+    }
+
+    public static class ImageTooLargeException extends IOException {
+        public ImageTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "image-variant-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
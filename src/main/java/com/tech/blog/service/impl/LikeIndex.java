@@ -0,0 +1,156 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.repository.LikeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of likes: the like count per post and the set of liked post IDs per user.
+ * It is built from the likes table at startup and kept in sync with committed toggles,
+ * so like information can be served without touching the database.
+ * <p>
+ * After-commit callbacks run in no particular order, so a toggle never adjusts the index
+ * relative to its current state. It sets the membership it committed and the count the
+ * counter update returned. Callbacks that still land out of order can leave a stale entry
+ * until the next toggle of that post, and the index is rebuilt from the table every
+ * {@code app.likes.index-rebuild-interval-ms} to bound that.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeIndex {
+
+    private record LikeChange(Long userId, Long postId, boolean liked, long likeCount) {
+    }
+
+    private record Snapshot(ConcurrentHashMap<Long, Long> likeCounts,
+                            ConcurrentHashMap<Long, Set<Long>> likedPostsByUser) {
+    }
+
+    private final LikeRepository likeRepository;
+
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile List<LikeChange> changesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.likes.index-rebuild-interval-ms:900000}",
+            initialDelayString = "${app.likes.index-rebuild-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (rebuildLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        Snapshot rebuilt = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        long loaded = 0;
+        try (Stream<Object[]> rows = likeRepository.streamAllUserPostPairs()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                Long userId = (Long) row[0];
+                Long postId = (Long) row[1];
+                rebuilt.likedPostsByUser().computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(postId);
+                rebuilt.likeCounts().merge(postId, 1L, Long::sum);
+                loaded++;
+            }
+        }
+
+        synchronized (rebuildLock) {
+            changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+            changesDuringRebuild = null;
+            snapshot = rebuilt;
+        }
+        log.info("Like index rebuilt with {} likes across {} posts", loaded, rebuilt.likeCounts().size());
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public long likeCount(Long postId) {
+        return snapshot.likeCounts().getOrDefault(postId, 0L);
+    }
+
+    public boolean hasLiked(Long userId, Long postId) {
+        if (userId == null) {
+            return false;
+        }
+        Set<Long> liked = snapshot.likedPostsByUser().get(userId);
+        return liked != null && liked.contains(postId);
+    }
+
+    /**
+     * Records a like or unlike, with the post's like count as of that change, once the
+     * surrounding transaction commits.
+     */
+    public void recordAfterCommit(Long userId, Long postId, boolean liked, long likeCount) {
+        afterCommit(() -> record(new LikeChange(userId, postId, liked, likeCount)));
+    }
+
+    /**
+     * Drops a deleted post from the index once the surrounding transaction commits.
+     */
+    public void removePostAfterCommit(Long postId) {
+        afterCommit(() -> {
+            Snapshot current = snapshot;
+            if (current != null) {
+                current.likeCounts().remove(postId);
+                current.likedPostsByUser().values().forEach(liked -> liked.remove(postId));
+            }
+        });
+    }
+
+    private void record(LikeChange change) {
+        // A rebuild may not see this change in its table scan, so it is replayed onto the
+        // new snapshot as well. Applying a change twice is harmless: it only sets state.
+        if (changesDuringRebuild != null) {
+            synchronized (rebuildLock) {
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            apply(current, change);
+        }
+    }
+
+    private static void apply(Snapshot target, LikeChange change) {
+        if (change.liked()) {
+            target.likedPostsByUser().computeIfAbsent(change.userId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(change.postId());
+        } else {
+            Set<Long> likedPosts = target.likedPostsByUser().get(change.userId());
+            if (likedPosts != null) {
+                likedPosts.remove(change.postId());
+            }
+        }
+        target.likeCounts().put(change.postId(), change.likeCount());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,53 +1,63 @@
 package com.tech.blog.service.impl;
 
+import com.tech.blog.exception.BadRequestException;
 import com.tech.blog.exception.ResourceNotFoundException;
 import com.tech.blog.model.dto.response.LikeResponse;
-import com.tech.blog.model.entity.Like;
-import com.tech.blog.model.entity.Post;
-import com.tech.blog.model.entity.User;
 import com.tech.blog.repository.LikeRepository;
 import com.tech.blog.repository.PostRepository;
-import com.tech.blog.repository.UserRepository;
+import com.tech.blog.repository.UserStatsRepository;
 import com.tech.blog.service.interfaces.LikeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LikeServiceImpl implements LikeService {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final String INFO_MESSAGE = "Like information retrieved successfully";
+
     private final LikeRepository likeRepository;
-    private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final LikeIndex likeIndex;
 
     @Override
     @Transactional
     public LikeResponse toggleLike(Long userId, Long postId) {
-        User user = findUserById(userId);
-        Post post = findPostById(postId);
-
-        var existingLike = likeRepository.findByUserIdAndPostId(userId, postId);
         boolean hasLiked;
         String message;
+        int delta;
 
-        if (existingLike.isPresent()) {
-            likeRepository.delete(existingLike.get());
+        if (likeRepository.deleteByUserIdAndPostId(userId, postId) > 0) {
+            delta = -1;
             hasLiked = false;
             message = "Post unliked successfully";
             log.info("User {} unliked post {}", userId, postId);
         } else {
-            Like newLike = createNewLike(user, post);
-            likeRepository.save(newLike);
+            delta = insertLike(userId, postId);
             hasLiked = true;
             message = "Post liked successfully";
             log.info("User {} liked post {}", userId, postId);
         }
 
-        long likeCount = likeRepository.countByPostId(postId);
+        long likeCount = postRepository.adjustLikesCountReturning(postId, delta)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+        if (delta != 0) {
+            userStatsRepository.adjustLikesCount(userId, delta);
+        }
+        likeIndex.recordAfterCommit(userId, postId, hasLiked, likeCount);
         return buildLikeResponse(likeCount, hasLiked, message);
     }
 
@@ -57,28 +67,63 @@ public class LikeServiceImpl implements LikeService {
             throw new ResourceNotFoundException("Post not found with id: " + postId);
         }
 
+        if (likeIndex.isReady()) {
+            return buildLikeResponse(likeIndex.likeCount(postId), likeIndex.hasLiked(userId, postId),
+                    INFO_MESSAGE);
+        }
+
         boolean hasLiked = likeRepository.existsByUserIdAndPostId(userId, postId);
         long likeCount = likeRepository.countByPostId(postId);
 
-        return buildLikeResponse(likeCount, hasLiked, "Like information retrieved successfully");
+        return buildLikeResponse(likeCount, hasLiked, INFO_MESSAGE);
     }
 
-    private User findUserById(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-    }
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, LikeResponse> getLikeInfoBatch(Long userId, List<Long> postIds) {
+        Set<Long> ids = new LinkedHashSet<>(postIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " post IDs can be requested at once");
+        }
 
-    private Post findPostById(Long postId) {
-        return postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+        Map<Long, LikeResponse> result = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        postRepository.findExistingIds(ids).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Posts not found with ids: " + missing);
+        }
+
+        if (likeIndex.isReady()) {
+            ids.forEach(postId -> result.put(postId, buildLikeResponse(
+                    likeIndex.likeCount(postId), likeIndex.hasLiked(userId, postId), INFO_MESSAGE)));
+            return result;
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        likeRepository.countByPostIds(ids).forEach(row -> counts.put((Long) row[0], (Long) row[1]));
+        Set<Long> liked = userId != null
+                ? new HashSet<>(likeRepository.findLikedPostIds(userId, ids))
+                : Set.of();
+
+        ids.forEach(postId -> result.put(postId, buildLikeResponse(
+                counts.getOrDefault(postId, 0L), liked.contains(postId), INFO_MESSAGE)));
+        return result;
     }
 
-    private Like createNewLike(User user, Post post) {
-        Like like = new Like();
-        like.setUser(user);
-        like.setPost(post);
-        like.setCreatedAt(LocalDateTime.now());
-        return like;
+    /**
+     * Inserts the like unless it already exists. Returns the number of rows inserted,
+     * which is 0 when a concurrent request won the race or the post does not exist.
+     */
+    private int insertLike(Long userId, Long postId) {
+        try {
+            return likeRepository.insertIfAbsent(userId, postId);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
     }
 
     private LikeResponse buildLikeResponse(long likeCount, boolean hasLiked, String message) {
@@ -88,4 +133,4 @@ public class LikeServiceImpl implements LikeService {
                 .message(message)
                 .build();
     }
-}
\ No newline at end of file
+}
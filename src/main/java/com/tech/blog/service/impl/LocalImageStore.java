@@ -0,0 +1,113 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.service.interfaces.ImageStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps images on local disk under {@code app.upload.directory}. Used by CI and
+ * load tests, where the Cloudinary API is not reachable.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.upload.store", havingValue = "local")
+public class LocalImageStore implements ImageStore {
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9-]+\\.[a-z0-9]+");
+
+    private final Path directory;
+    private final String publicUrl;
+
+    public LocalImageStore(@Value("${app.upload.directory:./uploads}") String directory,
+                           @Value("${app.upload.public-url:/api/v1/images/files}") String publicUrl) throws IOException {
+        this.directory = Files.createDirectories(Path.of(directory)).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+        log.info("Storing uploaded images in {}", this.directory);
+    }
+
+    @Override
+    public String store(Path file) throws IOException {
+        String name = UUID.randomUUID() + "." + extensionOf(file);
+        Path partial = directory.resolve(name + ".part");
+
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = source.size();
+            long position = 0;
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        return publicUrl + "/" + name;
+    }
+
+    @Override
+    public void delete(String publicId) throws IOException {
+        Optional<Path> file = resolve(publicId);
+        if (file.isPresent()) {
+            Files.deleteIfExists(file.get());
+        }
+    }
+
+    @Override
+    public String publicIdFromUrl(String url) {
+        if (url == null) return null;
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Maps a stored file name to its path, rejecting anything that is not a name
+     * this store generated.
+     */
+    public Optional<Path> resolve(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path file = directory.resolve(name);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private String extensionOf(Path file) throws IOException {
+        String contentType;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            in.mark(12);
+            byte[] header = in.readNBytes(12);
+            in.reset();
+            // RIFF....WEBP, which URLConnection does not recognise
+            if (header.length == 12 && new String(header, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                    && new String(header, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+                return "webp";
+            }
+            contentType = URLConnection.guessContentTypeFromStream(in);
+        }
+        if (contentType == null) {
+            return "bin";
+        }
+        return switch (contentType) {
+            case "image/jpeg" -> "jpg";
+            case "image/png" -> "png";
+            case "image/gif" -> "gif";
+            default -> "bin";
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the denormalized like and comment counters on posts
+ * from the source tables and repairs any row that has drifted. Also runs once at
+ * startup, before the web server accepts requests, so posts that predate the
+ * counter columns are not served with zero likes and comments. The startup run
+ * follows {@link com.tech.blog.config.SchemaInitializer}, which adds the counter
+ * columns and removes duplicate likes that would otherwise be counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("schemaInitializer")
+public class PostCounterReconciler {
+
+    private final PostRepository postRepository;
+
+    @Value("${app.counters.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @PostConstruct
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int repaired = postRepository.reconcileCounters();
+        if (repaired > 0) {
+            log.warn("Repaired like/comment counters on {} posts", repaired);
+        } else {
+            log.debug("Post counters are consistent");
+        }
+    }
+}
@@ -1,34 +1,56 @@
 package com.tech.blog.service.impl;
 
+import com.tech.blog.event.PostChangedEvent;
+import com.tech.blog.exception.BadRequestException;
 import com.tech.blog.exception.ResourceNotFoundException;
+import com.tech.blog.model.dto.projection.FeedVersion;
+import com.tech.blog.model.dto.projection.PostSearchRow;
+import com.tech.blog.model.dto.projection.PostVersion;
 import com.tech.blog.model.dto.request.*;
 import com.tech.blog.model.dto.response.*;
 import com.tech.blog.model.entity.*;
 import com.tech.blog.repository.*;
 import com.tech.blog.mapper.PostMapper;
 import com.tech.blog.service.interfaces.PostService;
-import io.jsonwebtoken.io.IOException;
+import com.tech.blog.util.CursorCodec;
+import com.tech.blog.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime CURSOR_START_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
     private final PostMapper postMapper;
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final ImageService imageService;
+    private final ImageDeletionOutbox imageDeletionOutbox;
+    private final ViewCountBuffer viewCountBuffer;
+    private final LikeIndex likeIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,13 +71,15 @@ public class PostServiceImpl implements PostService {
         }
 
         Post savedPost = postRepository.save(post);
+        userStatsRepository.recordPostCreated(author.getId(), savedPost.getId());
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId()));
         return postMapper.toResponse(savedPost);
     }
 
     @Override
     @Transactional
     public PostResponse updatePost(Long id, PostUpdateRequest request) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
 
         postMapper.updatePostFromDto(request, post);
@@ -71,27 +95,68 @@ public class PostServiceImpl implements PostService {
             post.setTags(tags);
         }
 
+        eventPublisher.publishEvent(new PostChangedEvent(id));
         return postMapper.toResponse(postRepository.save(post));
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public PostResponse getPostById(Long id) {
-        Post post = postRepository.findById(id)
+        Post post = postRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+
+        PostResponse response = postMapper.toResponse(post);
+        response.setViews(response.getViews() + (int) viewCountBuffer.pendingViews(id));
+        return response;
+    }
+
+    @Override
+    public void recordView(Long id) {
+        viewCountBuffer.recordView(id);
+    }
+
+    @Override
+    public String getPostETag(Long id) {
+        PostVersion version = postRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
-        postRepository.incrementViews(id);
-        return postMapper.toResponse(post);
+        // Views are part of the body, so each view flush yields a new tag and a fresh cached body.
+        return ETags.strong("post", id, version.getUpdatedAt(), version.getViews(), version.getLikesCount(),
+                version.getCommentsCount(), version.getLastCommentAt());
+    }
+
+    @Override
+    public String getPublishedPostsETag(int page, int size, String sortBy) {
+        return feedETag(postRepository.findPublishedFeedVersion(), "views".equals(sortBy),
+                "published", page, size, sortBy);
+    }
+
+    @Override
+    public String getPostsByCategoryETag(Long categoryId, String cursor, int size) {
+        return feedETag(postRepository.findPublishedFeedVersionByCategory(categoryId), false,
+                "category", categoryId, cursor, size);
+    }
+
+    @Override
+    public String getPostsByTagETag(String tagName, String cursor, int size) {
+        return feedETag(postRepository.findPublishedFeedVersionByTagName(tagName), false,
+                "tag", tagName, cursor, size);
+    }
+
+    @Override
+    public String getPostsByTagIdETag(Long tagId, String cursor, int size) {
+        return feedETag(postRepository.findPublishedFeedVersionByTagId(tagId), false,
+                "tag-id", tagId, cursor, size);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<PostPreviewDto> getPublishedPosts(int page, int size, String sortBy) {
-        Sort sort = Sort.by(Sort.Direction.DESC, sortBy);
+        Sort sort = Sort.by(Sort.Direction.DESC, sortBy).and(Sort.by(Sort.Direction.DESC, "id"));
         PageRequest pageable = PageRequest.of(page, size, sort);
 
-        Page<Post> postPage = postRepository.findAllPublishedPosts(pageable);
+        Page<Long> postPage = postRepository.findPublishedPostIds(pageable);
 
-        List<PostPreviewDto> content = postPage.getContent()
+        List<PostPreviewDto> content = findPreviewPosts(postPage.getContent())
                 .stream()
                 .map(postMapper::toPreviewDto)
                 .toList();
@@ -106,6 +171,17 @@ public class PostServiceImpl implements PostService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostPreviewDto> getPublishedPostsByCursor(String cursor, int size, String sortBy) {
+        validatePageSize(size);
+        return switch (sortBy) {
+            case "createdAt" -> findPageByCreatedAt(cursor, size, postRepository::findPublishedIdsBeforeCreatedAt);
+            case "views" -> findPageByViews(cursor, size);
+            default -> throw new BadRequestException("Unsupported cursor sort field: " + sortBy);
+        };
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<PostSummaryResponse> getAllPosts(int page, int size, String sortBy, String direction) {
@@ -135,16 +211,11 @@ public class PostServiceImpl implements PostService {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
 
-        if (post.getCoverImageUrl() != null) {
-            String publicId = extractPublicIdFromUrl(post.getCoverImageUrl());
-            try {
-                imageService.deleteImage(publicId);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to delete image", e);
-            }
-        }
-
+        deleteCoverImages(post);
         postRepository.delete(post);
+        userStatsRepository.recordPostDeleted(post.getUser().getId(), id);
+        likeIndex.removePostAfterCommit(id);
+        eventPublisher.publishEvent(new PostChangedEvent(id));
     }
 
     @Override
@@ -155,6 +226,7 @@ public class PostServiceImpl implements PostService {
 
         post.setStatus(request.getStatus());
         Post updatedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(id));
 
         return PostStatusResponse.builder()
                 .id(updatedPost.getId())
@@ -165,52 +237,191 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
-    public PostResponse updatePostImage(Long id, String imageUrl) {
-        Post post = postRepository.findById(id)
+    public PostResponse updatePostImage(Long id, String imageUrl, Map<Integer, String> variants) {
+        Post post = postRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
 
-        if (post.getCoverImageUrl() != null) {
-            String publicId = extractPublicIdFromUrl(post.getCoverImageUrl());
-            try {
-                imageService.deleteImage(publicId);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to delete old image", e);
-            }
-        }
+        deleteCoverImages(post);
 
         post.setCoverImageUrl(imageUrl);
+        post.setCoverImageVariants(variants == null || variants.isEmpty() ? null : variants);
+        eventPublisher.publishEvent(new PostChangedEvent(id));
         return postMapper.toResponse(postRepository.save(post));
     }
 
+    @Override
+    public boolean existsById(Long id) {
+        return postRepository.existsById(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<PostResponse> getPostsByCategory(Long categoryId) {
-        List<Post> posts = postRepository.findByCategory_Id(categoryId);
-        return posts.stream()
-                .map(postMapper::toResponse)
-                .toList();
+    public CursorPageResponse<PostPreviewDto> getPostsByCategory(Long categoryId, String cursor, int size) {
+        validatePageSize(size);
+        return findPageByCreatedAt(cursor, size, (createdAt, id, limit) ->
+                postRepository.findPublishedIdsByCategoryBefore(categoryId, createdAt, id, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostPreviewDto> getPostsByTag(String tagName, String cursor, int size) {
+        validatePageSize(size);
+        return findPageByCreatedAt(cursor, size, (createdAt, id, limit) ->
+                postRepository.findPublishedIdsByTagNameBefore(tagName, createdAt, id, limit));
     }
 
     @Override
-    public List<PostResponse> getPostsByTag(String tagName) {
-        List<Post> posts = postRepository.findPostsByTagName(tagName);
-        return posts.stream()
-                .map(postMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostPreviewDto> getPostsByTagId(Long tagId, String cursor, int size) {
+        validatePageSize(size);
+        return findPageByCreatedAt(cursor, size, (createdAt, id, limit) ->
+                postRepository.findPublishedIdsByTagIdBefore(tagId, createdAt, id, limit));
     }
 
     @Override
-    public List<PostResponse> getPostsByTagId(Long tagId) {
-        List<Post> posts = postRepository.findPostsByTagId(tagId);
-        return posts.stream()
-                .map(postMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponse<PostSearchResult> searchPosts(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query cannot be empty");
+        }
+        if (page < 0) {
+            throw new BadRequestException("Page number cannot be negative");
+        }
+        validatePageSize(size);
+
+        long total = postRepository.countPublishedMatches(query);
+        List<PostSearchRow> rows = total > 0
+                ? postRepository.searchPublished(query, size, (long) page * size)
+                : List.of();
+
+        Map<Long, PostPreviewDto> previews = findPreviewPosts(rows.stream().map(PostSearchRow::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, postMapper::toPreviewDto));
+
+        List<PostSearchResult> content = rows.stream()
+                .filter(row -> previews.containsKey(row.getId()))
+                .map(row -> PostSearchResult.builder()
+                        .post(previews.get(row.getId()))
+                        .highlight(row.getSnippet())
+                        .score(row.getScore() != null ? row.getScore() : 0)
+                        .build())
+                .toList();
+
+        int totalPages = (int) ((total + size - 1) / size);
+        return PageResponse.<PostSearchResult>builder()
+                .content(content)
+                .pageNo(page)
+                .pageSize(size)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .last(page + 1 >= totalPages)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface CreatedAtKeysetQuery {
+        List<Long> findIdsBefore(LocalDateTime createdAt, Long id, Limit limit);
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Runs a (createdAt DESC, id DESC) keyset query from the given cursor and fetches one
+     * row more than requested to detect the last page.
+     */
+    private CursorPageResponse<PostPreviewDto> findPageByCreatedAt(String cursor, int size, CreatedAtKeysetQuery query) {
+        CursorCodec.Cursor position = cursor != null ? CursorCodec.decode(cursor, "createdAt") : null;
+        LocalDateTime createdAt;
+        try {
+            createdAt = position != null ? LocalDateTime.parse(position.value()) : CURSOR_START_CREATED_AT;
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        List<Long> ids = query.findIdsBefore(createdAt, position != null ? position.id() : Long.MAX_VALUE,
+                Limit.of(size + 1));
+        return toCursorPage(ids, size, "createdAt");
+    }
+
+    /**
+     * Runs the (views DESC, id DESC) keyset query over published posts from the given cursor.
+     */
+    private CursorPageResponse<PostPreviewDto> findPageByViews(String cursor, int size) {
+        CursorCodec.Cursor position = cursor != null ? CursorCodec.decode(cursor, "views") : null;
+        int views;
+        try {
+            views = position != null ? Integer.parseInt(position.value()) : Integer.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+        List<Long> ids = postRepository.findPublishedIdsBeforeViews(views,
+                position != null ? position.id() : Long.MAX_VALUE, Limit.of(size + 1));
+        return toCursorPage(ids, size, "views");
+    }
+
+    private CursorPageResponse<PostPreviewDto> toCursorPage(List<Long> ids, int size, String sortBy) {
+        boolean last = ids.size() <= size;
+        List<Post> page = findPreviewPosts(last ? ids : ids.subList(0, size));
+
+        String nextCursor = null;
+        if (!last && !page.isEmpty()) {
+            Post tail = page.get(page.size() - 1);
+            Object value = "views".equals(sortBy) ? tail.getViews() : tail.getCreatedAt();
+            nextCursor = CursorCodec.encode(sortBy, value, tail.getId());
+        }
+
+        return CursorPageResponse.<PostPreviewDto>builder()
+                .content(page.stream().map(postMapper::toPreviewDto).toList())
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .last(last)
+                .build();
+    }
+
+    /**
+     * View counts move with every read, so they only feed into the tag when they
+     * decide the page order; otherwise a 304 may carry slightly stale viewsCount values.
+     */
+    private String feedETag(FeedVersion version, boolean includeViews, Object... request) {
+        return ETags.strong(Arrays.toString(request), version.getPostCount(), version.getLastUpdatedAt(),
+                version.getLikesTotal(), version.getCommentsTotal(),
+                includeViews ? version.getViewsTotal() : null);
     }
 
+    /**
+     * Queues the cover image and its variants for removal from the image store once
+     * this transaction commits; see {@link ImageDeletionOutbox}.
+     */
+    private void deleteCoverImages(Post post) {
+        List<String> publicIds = new ArrayList<>();
+        if (post.getCoverImageUrl() != null) {
+            publicIds.add(imageService.publicIdFromUrl(post.getCoverImageUrl()));
+        }
+        if (post.getCoverImageVariants() != null) {
+            post.getCoverImageVariants().values().stream()
+                    .map(imageService::publicIdFromUrl)
+                    .forEach(publicIds::add);
+        }
+        imageDeletionOutbox.enqueue(publicIds);
+    }
 
-    private String extractPublicIdFromUrl(String url) {
-        if (url == null) return null;
-        String[] parts = url.split("/");
-        return parts[parts.length - 1].split("\\.")[0];
+    /**
+     * Loads users, categories and tags for an already paginated list of post IDs
+     * and returns the posts in the same order as the IDs.
+     */
+    private List<Post> findPreviewPosts(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Post> postsById = postRepository.findAllWithPreviewDetailsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.tech.blog.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tech.blog.event.PostChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps hot read responses as ready-to-send JSON, plus a gzip copy, so a hit costs
+ * neither a query for the page nor a pass through Jackson. Each entry is tagged with
+ * the ETag it was built for and is rebuilt as soon as the caller presents a newer one;
+ * post changes also drop the affected entries eagerly. Size is bounded in bytes and
+ * Caffeine's frequency-based admission keeps the most requested posts resident.
+ */
+@Slf4j
+@Component
+public class ResponseBodyCache {
+
+    private static final String POST_KEY_PREFIX = "post:";
+    private static final String FEED_KEY_PREFIX = "feed:";
+    private static final int MIN_COMPRESSIBLE_BYTES = 1024;
+
+    public record CachedResponse(String etag, byte[] json, byte[] gzip, long serializationNanos) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter serializationSaved;
+    private final Counter identityBytes;
+    private final Counter gzipBytes;
+
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.response-cache.max-bytes:33554432}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) ->
+                        value.json().length + (value.gzip() != null ? value.gzip().length : 0))
+                .build();
+
+        this.hits = Counter.builder("blog.response.cache.requests").tag("result", "hit")
+                .description("Responses served from the pre-serialized cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("blog.response.cache.requests").tag("result", "miss")
+                .description("Responses that had to be loaded and serialized")
+                .register(meterRegistry);
+        this.serializationSaved = Counter.builder("blog.response.cache.serialization.saved")
+                .baseUnit("seconds")
+                .description("Serialization and compression time avoided by cache hits")
+                .register(meterRegistry);
+        this.identityBytes = Counter.builder("blog.response.cache.bytes.served").tag("encoding", "identity")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.gzipBytes = Counter.builder("blog.response.cache.bytes.served").tag("encoding", "gzip")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("blog.response.cache.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .baseUnit("bytes")
+                .description("Bytes held by the pre-serialized response cache")
+                .register(meterRegistry);
+    }
+
+    public CachedResponse getPost(Long postId, String etag, Supplier<?> loader) {
+        return get(POST_KEY_PREFIX + postId, etag, loader);
+    }
+
+    public CachedResponse getFeed(String feedKey, String etag, Supplier<?> loader) {
+        return get(FEED_KEY_PREFIX + feedKey, etag, loader);
+    }
+
+    /**
+     * Records what is about to be written for a hit or a fresh entry.
+     */
+    public void recordServed(CachedResponse response, boolean gzip) {
+        if (gzip) {
+            gzipBytes.increment(response.gzip().length);
+        } else {
+            identityBytes.increment(response.json().length);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostChanged(PostChangedEvent event) {
+        cache.invalidate(POST_KEY_PREFIX + event.postId());
+        cache.asMap().keySet().removeIf(key -> key.startsWith(FEED_KEY_PREFIX));
+    }
+
+    private CachedResponse get(String key, String etag, Supplier<?> loader) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.etag().equals(etag)) {
+            hits.increment();
+            serializationSaved.increment(cached.serializationNanos() / 1e9);
+            return cached;
+        }
+
+        misses.increment();
+        CachedResponse fresh = serialize(etag, loader.get());
+        cache.put(key, fresh);
+        return fresh;
+    }
+
+    private CachedResponse serialize(String etag, Object body) {
+        long start = System.nanoTime();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = json.length >= MIN_COMPRESSIBLE_BYTES ? gzip(json) : null;
+            return new CachedResponse(etag, json, gzip, System.nanoTime() - start);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    private byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
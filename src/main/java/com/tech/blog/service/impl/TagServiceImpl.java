@@ -1,5 +1,6 @@
 package com.tech.blog.service.impl;
 
+import com.tech.blog.config.CacheNames;
 import com.tech.blog.exception.ResourceAlReadyExist;
 import com.tech.blog.exception.ResourceNotFoundException;
 import com.tech.blog.mapper.TagMapper;
@@ -11,6 +12,9 @@ import com.tech.blog.service.interfaces.TagService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,6 +29,7 @@ public class TagServiceImpl implements TagService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.TAGS, allEntries = true)
     public TagResponse save(TagCreateRequest request) {
         log.info("Attempting to create tag with name: {}", request.getName());
 
@@ -47,6 +52,7 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.TAGS, key = "'all'")
     public List<TagResponse> fetchAll() {
 
         log.info("Fetching all tags");
@@ -58,6 +64,7 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.TAG, key = "#p0")
     public TagResponse findById(Long id) {
         log.info("Fetching tag by id: {}", id);
 
@@ -68,6 +75,10 @@ public class TagServiceImpl implements TagService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheNames.TAGS, allEntries = true),
+            @CacheEvict(cacheNames = CacheNames.TAG, key = "#p0")
+    })
     public void delete(Long id) {
         log.info("Deleting tag by id: {}", id);
 
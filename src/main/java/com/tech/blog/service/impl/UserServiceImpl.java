@@ -1,21 +1,41 @@
 package com.tech.blog.service.impl;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.tech.blog.exception.BadRequestException;
+import com.tech.blog.exception.ResourceNotFoundException;
+import com.tech.blog.mapper.CommentMapper;
 import com.tech.blog.mapper.UserMapper;
 import com.tech.blog.model.dto.request.UserUpdateRequest;
+import com.tech.blog.model.dto.projection.UserDirectoryRow;
+import com.tech.blog.model.dto.response.PageResponse;
+import com.tech.blog.model.dto.response.PostSummaryResponse;
+import com.tech.blog.model.dto.response.UploadJobResponse;
+import com.tech.blog.model.dto.response.UserDetailResponse;
+import com.tech.blog.model.dto.response.UserDirectoryResponse;
+import com.tech.blog.model.entity.Comment;
 import com.tech.blog.model.dto.response.UserResponse;
 import com.tech.blog.model.entity.User;
+import com.tech.blog.model.entity.UserStats;
+import com.tech.blog.repository.CommentRepository;
+import com.tech.blog.repository.PostRepository;
 import com.tech.blog.repository.UserRepository;
+import com.tech.blog.repository.UserStatsRepository;
 import com.tech.blog.service.interfaces.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -23,9 +43,17 @@ import java.util.Map;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> DIRECTORY_SORT_FIELDS = Set.of(
+            "username", "email", "createdAt", "postsCount", "commentsCount", "likesCount");
+
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
     private final UserMapper userMapper;
-    private final Cloudinary cloudinary;
+    private final CommentMapper commentMapper;
+    private final ImageUploadPipeline imageUploadPipeline;
 
 
     @Override
@@ -47,32 +75,113 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserResponse updateProfilePicture(Long userId, MultipartFile file) throws IOException {
+    public UploadJobResponse updateProfilePicture(Long userId, MultipartFile file) {
 
         log.info("Updating profile picture for user with id: {}", userId);
 
-        User user = userRepository.findById(userId).
-                orElseThrow(
-                        () -> new RuntimeException("User not found")
-                );
-
-        log.info("Uploading image to cloudinary");
-
-        Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.emptyMap());
-        String imageUrl = (String) uploadResult.get("url");
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
 
-        log.info("Image uploaded successfully");
+        log.info("Queueing profile picture upload");
 
-        user.setProfilePictureUrl(imageUrl);
+        return imageUploadPipeline.submit(file, imageUrl -> {
+            User user = userRepository.findById(userId).
+                    orElseThrow(
+                            () -> new ResourceNotFoundException("User", "id", userId)
+                    );
+            user.setProfilePictureUrl(imageUrl);
+            userRepository.save(user);
 
-        userRepository.save(user);
+            log.info("Profile picture updated for user with id: {}", userId);
+        });
+    }
 
-        return userMapper.toResponse(user);
+    /**
+     * Serves the profile from user_stats with a fixed number of queries: the user, the
+     * stats row, and one IN query each for the recent posts and comments. The stats row
+     * is backfilled from the source tables the first time a profile is read.
+     */
+    @Override
+    @Transactional
+    public UserDetailResponse getUserProfile(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        UserStats stats = userStatsRepository.findById(userId).orElseGet(() -> {
+            userStatsRepository.backfill(userId);
+            return userStatsRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        });
+
+        UserDetailResponse response = userMapper.toDetailResponse(user,
+                stats.getPostsCount(), stats.getCommentsCount(), stats.getLikesCount());
+
+        // Rings may still hold IDs of content deleted along with a post, or of posts that
+        // are not published; the IN queries drop those.
+        List<Long> recentPostIds = stats.getRecentPostIds();
+        if (recentPostIds != null && !recentPostIds.isEmpty()) {
+            Map<Long, PostSummaryResponse> posts = postRepository.findPublishedSummariesByIdIn(recentPostIds).stream()
+                    .collect(Collectors.toMap(PostSummaryResponse::getId, Function.identity()));
+            response.setRecentPosts(recentPostIds.stream().map(posts::get).filter(Objects::nonNull).toList());
+        } else {
+            response.setRecentPosts(List.of());
+        }
+
+        List<Long> recentCommentIds = stats.getRecentCommentIds();
+        if (recentCommentIds != null && !recentCommentIds.isEmpty()) {
+            Map<Long, Comment> comments = commentRepository.findAllWithPostByIdIn(recentCommentIds).stream()
+                    .collect(Collectors.toMap(Comment::getId, Function.identity()));
+            response.setRecentComments(recentCommentIds.stream()
+                    .map(comments::get)
+                    .filter(Objects::nonNull)
+                    .map(commentMapper::toSummaryResponse)
+                    .toList());
+        } else {
+            response.setRecentComments(List.of());
+        }
+        return response;
     }
 
     @Override
-    public List<UserResponse> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream().map(userMapper::toResponse).toList();
+    @Transactional(readOnly = true)
+    public PageResponse<UserDirectoryResponse> getUsers(String usernamePrefix, String emailPrefix,
+                                                        int page, int size, String sortBy, String direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!DIRECTORY_SORT_FIELDS.contains(sortBy)) {
+            throw new BadRequestException("Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Unsupported sort direction: " + direction));
+
+        PageRequest pageable = PageRequest.of(page, size,
+                Sort.by(sortDirection, sortBy).and(Sort.by(Sort.Direction.ASC, "id")));
+        Page<UserDirectoryRow> users = userRepository.findDirectory(
+                prefixPattern(usernamePrefix), prefixPattern(emailPrefix), pageable);
+
+        return PageResponse.<UserDirectoryResponse>builder()
+                .content(users.getContent().stream().map(userMapper::toDirectoryResponse).toList())
+                .pageNo(users.getNumber())
+                .pageSize(users.getSize())
+                .totalElements(users.getTotalElements())
+                .totalPages(users.getTotalPages())
+                .last(users.isLast())
+                .build();
+    }
+
+    /**
+     * Turns user input into a lower-cased LIKE prefix with its wildcards escaped, matching
+     * the lower(...) text_pattern_ops indexes on users.
+     */
+    private String prefixPattern(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return "%";
+        }
+        return prefix.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
     }
 }
@@ -0,0 +1,36 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.repository.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the per-user activity counters and recent activity rings
+ * from the source tables and repairs any row that has drifted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatsReconciler {
+
+    private final UserStatsRepository userStatsRepository;
+
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int repaired = userStatsRepository.reconcileCounters();
+        if (repaired > 0) {
+            log.warn("Repaired activity counters for {} users", repaired);
+        } else {
+            log.debug("User activity counters are consistent");
+        }
+
+        int rebuilt = userStatsRepository.reconcileRecentActivity();
+        if (rebuilt > 0) {
+            log.warn("Rebuilt recent activity for {} users", rebuilt);
+        } else {
+            log.debug("User recent activity is consistent");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.repository.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for post views. Views are accumulated per post in memory
+ * and written to the database in batches, so reading a post never takes a row lock.
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.views.flush-batch-size:500}")
+    private int batchSize;
+
+    public ViewCountBuffer(PostRepository postRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("blog.posts.views.pending", pending, Map::size)
+                .description("Posts with view deltas not yet flushed to the database")
+                .register(meterRegistry);
+    }
+
+    public void recordView(Long postId) {
+        pending.merge(postId, 1L, Long::sum);
+    }
+
+    public long pendingViews(Long postId) {
+        return pending.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Long postId : pending.keySet()) {
+            Long delta = pending.remove(postId);
+            if (delta == null) {
+                continue;
+            }
+            batch.add(Map.entry(postId, delta));
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} buffered post view counters before shutdown", pending.size());
+        flush();
+    }
+
+    private void writeBatch(List<Map.Entry<Long, Long>> batch) {
+        try {
+            long[] ids = new long[batch.size()];
+            int[] deltas = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                ids[i] = batch.get(i).getKey();
+                deltas[i] = Math.toIntExact(batch.get(i).getValue());
+            }
+            transactionTemplate.executeWithoutResult(status -> postRepository.incrementViews(ids, deltas));
+            log.debug("Flushed view counters for {} posts", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush view counters for {} posts, re-queueing", batch.size(), e);
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Long::sum));
+        }
+    }
+}
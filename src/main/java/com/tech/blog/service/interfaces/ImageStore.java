@@ -0,0 +1,23 @@
+package com.tech.blog.service.interfaces;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Backend that holds uploaded images. The active implementation is picked with
+ * {@code app.upload.store} ({@code cloudinary} or {@code local}).
+ */
+public interface ImageStore {
+
+    /**
+     * Stores the file and returns the URL clients should load it from.
+     */
+    String store(Path file) throws IOException;
+
+    void delete(String publicId) throws IOException;
+
+    /**
+     * Recovers the ID accepted by {@link #delete(String)} from a URL returned by {@link #store(Path)}.
+     */
+    String publicIdFromUrl(String url);
+}
@@ -2,6 +2,9 @@ package com.tech.blog.service.interfaces;
 
 import com.tech.blog.model.dto.response.LikeResponse;
 
+import java.util.List;
+import java.util.Map;
+
 public interface LikeService {
     /**
      * Toggles like status and returns updated like information
@@ -20,4 +23,13 @@ public interface LikeService {
      * @return LikeResponse containing like status and count
      */
     LikeResponse getLikeInfo(Long userId, Long postId);
+
+    /**
+     * Gets like information for a batch of posts
+     *
+     * @param userId  ID of the user requesting information, or null for anonymous callers
+     * @param postIds IDs of the posts, at most 100
+     * @return LikeResponse per requested post ID
+     */
+    Map<Long, LikeResponse> getLikeInfoBatch(Long userId, List<Long> postIds);
 }
\ No newline at end of file
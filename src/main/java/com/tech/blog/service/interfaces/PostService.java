@@ -5,19 +5,42 @@ import com.tech.blog.model.dto.request.PostStatusRequest;
 import com.tech.blog.model.dto.request.PostUpdateRequest;
 import com.tech.blog.model.dto.response.*;
 
-import java.util.List;
+import java.util.Map;
 
 public interface PostService {
     PostResponse createPost(PostCreateRequest request);
     PostResponse updatePost(Long id, PostUpdateRequest request);
+    /**
+     * Loads a post without counting a view; callers record reads with {@link #recordView(Long)}.
+     */
     PostResponse getPostById(Long id);
+    boolean existsById(Long id);
+
+    /**
+     * Counts a view without loading the post, so reads answered with 304 Not Modified
+     * or from a cached body are counted too.
+     */
+    void recordView(Long id);
+
+    /**
+     * Strong entity tags computed from cheap version queries, so conditional requests
+     * can be answered before the post or feed page is loaded.
+     */
+    String getPostETag(Long id);
+    String getPublishedPostsETag(int page, int size, String sortBy);
+    String getPostsByCategoryETag(Long categoryId, String cursor, int size);
+    String getPostsByTagETag(String tagName, String cursor, int size);
+    String getPostsByTagIdETag(Long tagId, String cursor, int size);
+
     PageResponse<PostPreviewDto> getPublishedPosts(int page, int size, String sortBy);
+    CursorPageResponse<PostPreviewDto> getPublishedPostsByCursor(String cursor, int size, String sortBy);
     PageResponse<PostSummaryResponse> getAllPosts(int page, int size, String sortBy, String direction);
     void deletePost(Long id);
     PostStatusResponse updatePostStatus(Long id, PostStatusRequest request);
-    PostResponse updatePostImage(Long id, String imageUrl);
-    List<PostResponse> getPostsByCategory(Long categoryId);
-    List<PostResponse> getPostsByTag(String tagName);
-    List<PostResponse> getPostsByTagId(Long tagId);
+    PostResponse updatePostImage(Long id, String imageUrl, Map<Integer, String> variants);
+    CursorPageResponse<PostPreviewDto> getPostsByCategory(Long categoryId, String cursor, int size);
+    CursorPageResponse<PostPreviewDto> getPostsByTag(String tagName, String cursor, int size);
+    CursorPageResponse<PostPreviewDto> getPostsByTagId(Long tagId, String cursor, int size);
+    PageResponse<PostSearchResult> searchPosts(String query, int page, int size);
 
 }
\ No newline at end of file
@@ -1,15 +1,18 @@
 package com.tech.blog.service.interfaces;
 
 import com.tech.blog.model.dto.request.UserUpdateRequest;
+import com.tech.blog.model.dto.response.PageResponse;
+import com.tech.blog.model.dto.response.UploadJobResponse;
+import com.tech.blog.model.dto.response.UserDetailResponse;
+import com.tech.blog.model.dto.response.UserDirectoryResponse;
 import com.tech.blog.model.dto.response.UserResponse;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.util.List;
-
 public interface UserService {
 
     UserResponse editUserProfile(Long userId, UserUpdateRequest userUpdateRequest);
-    UserResponse updateProfilePicture(Long userId, MultipartFile file) throws IOException;
-    List<UserResponse> getAllUsers();
+    UploadJobResponse updateProfilePicture(Long userId, MultipartFile file);
+    UserDetailResponse getUserProfile(Long userId);
+    PageResponse<UserDirectoryResponse> getUsers(String usernamePrefix, String emailPrefix,
+                                                 int page, int size, String sortBy, String direction);
 }
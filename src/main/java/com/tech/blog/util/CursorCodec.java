@@ -0,0 +1,40 @@
+package com.tech.blog.util;
+
+import com.tech.blog.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe tokens of the form
+ * {@code sortKey|value|id}. Clients must treat the token as an opaque string.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public record Cursor(String sortKey, String value, long id) {
+    }
+
+    public static String encode(String sortKey, Object value, long id) {
+        String raw = sortKey + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSortKey)) {
+                throw new BadRequestException("Cursor does not match sort field: " + expectedSortKey);
+            }
+            return new Cursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tech.blog.util;
+
+import com.tech.blog.model.enums.Role;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiration have already been checked.
+ * {@code userId} and {@code role} are null for tokens issued without those claims;
+ * {@code role} is also null when the claim names a role this build does not know.
+ */
+public record VerifiedToken(String username, Long userId, Role role, Date expiration) {
+
+    static VerifiedToken from(Claims claims) {
+        Number userId = claims.get("userId", Number.class);
+        String role = claims.get("role", String.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                role != null ? parseRole(role) : null,
+                claims.getExpiration());
+    }
+
+    private static Role parseRole(String role) {
+        try {
+            return Role.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Indexes added to comments after the original schema.
+
+-- Keyset pagination of a post's comment thread in (create_at, id) order.
+CREATE INDEX IF NOT EXISTS idx_comments_post_created ON comments (post_id, create_at, id);
+
+-- Per-user comment counts for the directory and the user_stats backfill.
+CREATE INDEX IF NOT EXISTS idx_comments_user ON comments (user_id);
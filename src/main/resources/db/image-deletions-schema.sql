@@ -0,0 +1,12 @@
+-- Outbox of image store deletions, written in the transaction that orphans an image
+-- and drained by ImageDeletionOutbox. The index serves its due-row scan.
+CREATE TABLE IF NOT EXISTS image_deletions (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id       varchar(255)  NOT NULL,
+    attempts        integer       NOT NULL DEFAULT 0,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(1000),
+    created_at      timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_image_deletions_next_attempt ON image_deletions (next_attempt_at);
@@ -0,0 +1,10 @@
+-- toggleLike inserts with ON CONFLICT (user_id, post_id), which needs a unique index
+-- on that pair as its arbiter. Keep the oldest row of any duplicated pair so the
+-- index can be built on tables that predate it; the post counters are reconciled next.
+DELETE FROM likes l
+    USING likes older
+    WHERE older.user_id = l.user_id
+      AND older.post_id = l.post_id
+      AND older.id < l.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_likes_user_post ON likes (user_id, post_id);
@@ -0,0 +1,12 @@
+-- Columns added to posts after the original schema.
+
+-- Denormalized like and comment counters. Existing rows start at zero and are
+-- filled in by PostCounterReconciler during startup.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS likes_count integer NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comments_count integer NOT NULL DEFAULT 0;
+
+-- Resized cover image URLs keyed by width.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS cover_image_variants jsonb;
+
+-- Per-user post counts for the directory and the user_stats backfill.
+CREATE INDEX IF NOT EXISTS idx_posts_user ON posts (user_id);
@@ -0,0 +1,4 @@
+-- Case-insensitive prefix search on the user directory. text_pattern_ops lets
+-- LIKE 'prefix%' use the index regardless of the database collation.
+CREATE INDEX IF NOT EXISTS idx_users_username_prefix ON users (lower(username) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users (lower(email) text_pattern_ops);
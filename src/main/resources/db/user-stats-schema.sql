@@ -0,0 +1,11 @@
+-- One row of activity counters and recent post/comment IDs per user, created on the
+-- first profile read and maintained by the post, comment and like write paths.
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id            bigint PRIMARY KEY,
+    posts_count        integer NOT NULL DEFAULT 0,
+    comments_count     integer NOT NULL DEFAULT 0,
+    likes_count        integer NOT NULL DEFAULT 0,
+    recent_post_ids    bigint[],
+    recent_comment_ids bigint[],
+    updated_at         timestamp(6)
+);
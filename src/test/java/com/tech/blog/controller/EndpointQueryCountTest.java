@@ -0,0 +1,57 @@
+package com.tech.blog.controller;
+
+import com.tech.blog.model.entity.Post;
+import com.tech.blog.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Guards the hot read endpoints against N+1 regressions: the number of statements
+ * must stay within budget and must not grow with the amount of data returned.
+ */
+class EndpointQueryCountTest extends PostgresIntegrationTest {
+
+    @Test
+    void publishedFeedRunsTheSameStatementsForAnyPageSize() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            publishedPost(tags(3));
+        }
+
+        long small = statementsFor(get("/api/v1/posts/published").param("size", "5"));
+        long large = statementsFor(get("/api/v1/posts/published").param("size", "20"));
+
+        // Feed version, page of IDs, total count, previews with author, category and tags.
+        assertThat(small).isLessThanOrEqualTo(4);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void postDetailRunsTheSameStatementsForAnyNumberOfComments() throws Exception {
+        Post quiet = publishedPost(tags(2));
+        comments(quiet, 3);
+        Post busy = publishedPost(tags(2));
+        comments(busy, 40);
+
+        long few = statementsFor(get("/api/v1/posts/{id}", quiet.getId()));
+        long many = statementsFor(get("/api/v1/posts/{id}", busy.getId()));
+
+        // Post version, post with author, category and tags, comments, comment authors in one batch.
+        assertThat(few).isLessThanOrEqualTo(4);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void commentPageRunsTheSameStatementsForAnyPageSize() throws Exception {
+        Post post = publishedPost(tags(1));
+        comments(post, 40);
+
+        long small = statementsFor(get("/api/v1/comments/post/{postId}", post.getId()).param("size", "5"));
+        long large = statementsFor(get("/api/v1/comments/post/{postId}", post.getId()).param("size", "40"));
+
+        // Post existence, page of comment rows, authors in one IN query.
+        assertThat(small).isEqualTo(3);
+        assertThat(large).isEqualTo(small);
+    }
+}
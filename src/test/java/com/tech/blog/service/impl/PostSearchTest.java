@@ -0,0 +1,64 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.model.dto.response.PageResponse;
+import com.tech.blog.model.dto.response.PostSearchResult;
+import com.tech.blog.model.entity.Post;
+import com.tech.blog.model.enums.PostStatus;
+import com.tech.blog.service.interfaces.PostService;
+import com.tech.blog.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void titleMatchesOutrankContentMatches() {
+        Post inContent = publishedPost("Weeknight cooking",
+                "Notes from the kitchen. We keep the recipes in PostgreSQL.", List.of());
+        Post inTitle = publishedPost("PostgreSQL indexing guide",
+                "How PostgreSQL chooses between index scans and sequential scans.", List.of());
+        publishedPost("Gardening", "Nothing about databases here.", List.of());
+
+        PageResponse<PostSearchResult> results = postService.searchPosts("postgresql", 0, 10);
+
+        assertThat(results.getTotalElements()).isEqualTo(2);
+        assertThat(results.getContent())
+                .extracting(result -> result.getPost().getId())
+                .containsExactly(inTitle.getId(), inContent.getId());
+        assertThat(results.getContent().get(0).getScore())
+                .isGreaterThan(results.getContent().get(1).getScore());
+    }
+
+    @Test
+    void unpublishedPostsAreNotFound() {
+        post("PostgreSQL draft", "Unfinished notes on PostgreSQL.", PostStatus.DRAFT, List.of());
+        Post published = publishedPost("PostgreSQL release notes", "What changed in PostgreSQL.", List.of());
+
+        PageResponse<PostSearchResult> results = postService.searchPosts("postgresql", 0, 10);
+
+        assertThat(results.getContent())
+                .extracting(result -> result.getPost().getId())
+                .containsExactly(published.getId());
+    }
+
+    @Test
+    void highlightEscapesAuthorMarkup() {
+        publishedPost("Tuning",
+                "<script>alert('x')</script> <b onmouseover=\"steal()\">PostgreSQL</b> tuning tips & tricks",
+                List.of());
+
+        String highlight = postService.searchPosts("postgresql", 0, 10).getContent().get(0).getHighlight();
+
+        assertThat(highlight)
+                .contains("<mark>PostgreSQL</mark>")
+                .doesNotContain("<script", "<b ", "\"steal()\"");
+        assertThat(highlight.replace("<mark>", "").replace("</mark>", "")).doesNotContain("<", ">");
+    }
+}
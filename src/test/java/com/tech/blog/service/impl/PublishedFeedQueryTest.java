@@ -0,0 +1,68 @@
+package com.tech.blog.service.impl;
+
+import com.tech.blog.config.SqlStatementCounter;
+import com.tech.blog.model.dto.response.PageResponse;
+import com.tech.blog.model.dto.response.PostPreviewDto;
+import com.tech.blog.model.entity.Tag;
+import com.tech.blog.service.interfaces.PostService;
+import com.tech.blog.support.PostgresIntegrationTest;
+import com.tech.blog.support.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the two-phase feed query: the page is cut in SQL on post IDs, and only that
+ * page is joined with its tags. Paging the joined rows instead makes Hibernate load
+ * every published post and paginate in memory.
+ */
+class PublishedFeedQueryTest extends PostgresIntegrationTest {
+
+    private static final int POSTS = 25;
+    private static final int TAGS_PER_POST = 3;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void pagesPostIdsInSqlBeforeJoiningTags() {
+        List<Tag> tags = tags(TAGS_PER_POST);
+        for (int i = 0; i < POSTS; i++) {
+            publishedPost(tags);
+        }
+
+        SqlStatementCounter.start();
+        RecordingStatementInspector.start();
+        PageResponse<PostPreviewDto> page;
+        List<String> sql;
+        SqlStatementCounter.Tally tally;
+        try {
+            page = postService.getPublishedPosts(0, PAGE_SIZE, "createdAt");
+        } finally {
+            sql = RecordingStatementInspector.finish();
+            tally = SqlStatementCounter.finish();
+        }
+
+        // ID page, count, then one query for the page's authors, categories and tags.
+        assertThat(tally.statements()).isEqualTo(3);
+        assertThat(tally.rows()).isEqualTo(PAGE_SIZE + 1 + (long) PAGE_SIZE * TAGS_PER_POST);
+
+        assertThat(sql).hasSize(3);
+        String idPage = sql.get(0).toLowerCase(Locale.ROOT);
+        assertThat(idPage).doesNotContain("post_tags");
+        assertThat(idPage).containsAnyOf("fetch first", "limit");
+        assertThat(sql.get(1).toLowerCase(Locale.ROOT)).contains("count(");
+        String details = sql.get(2).toLowerCase(Locale.ROOT);
+        assertThat(details).contains("post_tags", " in (");
+        assertThat(details).doesNotContain("fetch first", "limit", "offset");
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(POSTS);
+        assertThat(page.getContent()).allSatisfy(post -> assertThat(post.getTags()).hasSize(TAGS_PER_POST));
+    }
+}
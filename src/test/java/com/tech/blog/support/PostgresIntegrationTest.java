@@ -0,0 +1,170 @@
+package com.tech.blog.support;
+
+import com.tech.blog.model.entity.Category;
+import com.tech.blog.model.entity.Comment;
+import com.tech.blog.model.entity.Post;
+import com.tech.blog.model.entity.Tag;
+import com.tech.blog.model.entity.User;
+import com.tech.blog.model.enums.PostStatus;
+import com.tech.blog.model.enums.Role;
+import com.tech.blog.repository.CategoryRepository;
+import com.tech.blog.repository.CommentRepository;
+import com.tech.blog.repository.PostRepository;
+import com.tech.blog.repository.TagRepository;
+import com.tech.blog.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Boots the application against a real PostgreSQL, since most read paths use
+ * native SQL. The server is an embedded PostgreSQL started from bundled binaries,
+ * so the tests need no Docker daemon. The server and the Spring context are shared
+ * by all subclasses; tables are truncated before each test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected TagRepository tagRepository;
+
+    @Autowired
+    protected PostRepository postRepository;
+
+    @Autowired
+    protected CommentRepository commentRepository;
+
+    private int sequence;
+
+    @BeforeEach
+    void truncateTables() {
+        jdbcTemplate.execute("TRUNCATE TABLE likes, comments, post_tags, posts, tags, categories, " +
+                "user_stats, image_deletions, users RESTART IDENTITY CASCADE");
+    }
+
+    /**
+     * Performs the request and returns the number of SQL statements Hibernate sent
+     * while handling it. MockMvc runs the request on the calling thread, so
+     * {@link RecordingStatementInspector} sees exactly that request's statements.
+     */
+    protected long statementsFor(RequestBuilder request) throws Exception {
+        List<String> statements;
+        RecordingStatementInspector.start();
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+        } finally {
+            statements = RecordingStatementInspector.finish();
+        }
+        return statements.size();
+    }
+
+    protected User user() {
+        int n = ++sequence;
+        User user = new User();
+        user.setUsername("user" + n);
+        user.setEmail("user" + n + "@example.com");
+        user.setPassword("{noop}password");
+        user.setFirstname("First" + n);
+        user.setLastname("Last" + n);
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+
+    protected Category category() {
+        int n = ++sequence;
+        return categoryRepository.save(new Category(null, "Category " + n, "Description " + n,
+                LocalDateTime.now(), null));
+    }
+
+    protected List<Tag> tags(int count) {
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tags.add(tagRepository.save(new Tag(null, "tag-" + (++sequence), null)));
+        }
+        return tags;
+    }
+
+    protected Post publishedPost(String title, String content, List<Tag> tags) {
+        return post(title, content, PostStatus.PUBLISHED, tags);
+    }
+
+    protected Post post(String title, String content, PostStatus status, List<Tag> tags) {
+        return postRepository.save(Post.builder()
+                .title(title)
+                .content(content)
+                .status(status)
+                .user(user())
+                .category(category())
+                .tags(new ArrayList<>(tags))
+                .build());
+    }
+
+    protected Post publishedPost(List<Tag> tags) {
+        int n = ++sequence;
+        return publishedPost("Post " + n, "Content of post " + n, tags);
+    }
+
+    /**
+     * Adds comments to the post, each written by a different user so that loading
+     * authors one by one would show up as one statement per comment.
+     */
+    protected void comments(Post post, int count) {
+        List<Comment> comments = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime at = createdAt.plusSeconds(i);
+            comments.add(new Comment(null, "Comment " + i, at, at, user(), post));
+        }
+        commentRepository.saveAll(comments);
+        jdbcTemplate.update("UPDATE posts SET comments_count = ? WHERE id = ?", count, post.getId());
+    }
+}